@@ -0,0 +1,43 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.nio.file.Path;
+
+/**
+ * Locates the keyword files under {@code keywords/} for benchmarks.
+ */
+public final class KeywordFiles {
+
+    private KeywordFiles() {
+        // no instances
+    }
+
+    /**
+     * @return keywords directory, from system property {@code keywords.dir} (default {@code keywords})
+     */
+    public static Path keywordsDirectory() {
+        return Path.of(System.getProperty("keywords.dir", "keywords"));
+    }
+
+    /**
+     * @param firebirdVersion
+     *         Firebird version (eg {@code 5.0})
+     * @return keywords source file of the version
+     */
+    public static Path firebirdSourceFile(String firebirdVersion) {
+        Path versionDirectory = keywordsDirectory().resolve("firebird").resolve(firebirdVersion);
+        return versionDirectory.resolve(
+                firebirdVersion.compareTo("5.0") >= 0 ? "ParserTokens.h" : "keywords.cpp");
+    }
+
+    /**
+     * @param sqlVersion
+     *         SQL standard version (eg {@code 2003})
+     * @param fileName
+     *         file name ({@code reserved.txt} or {@code non-reserved.txt})
+     * @return keywords file of the version
+     */
+    public static Path sqlKeywordsFile(String sqlVersion, String fileName) {
+        return keywordsDirectory().resolve("sql").resolve(sqlVersion).resolve(fileName);
+    }
+
+}
@@ -0,0 +1,92 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ParameterMetaData;
+import java.sql.PreparedStatement;
+import java.sql.Types;
+import java.util.Arrays;
+
+/**
+ * Stub JDBC objects for benchmarking the batch binding of the keyword loaders without a database.
+ * <p>
+ * Prepared statements accept any parameters, count the batched rows, and report an update count of 1 for each
+ * execution.
+ * </p>
+ */
+public final class StubJdbc {
+
+    private StubJdbc() {
+        // no instances
+    }
+
+    /**
+     * @param versionType
+     *         JDBC type of the second (version) parameter ({@link Types#NUMERIC} or {@link Types#SMALLINT})
+     * @return stub connection which prepares stub statements with, per row, parameters {@code VARCHAR(50)},
+     * {@code versionType} and {@code BOOLEAN}
+     */
+    public static Connection connection(int versionType) {
+        return proxy(Connection.class, (proxy, method, args) ->
+                "prepareStatement".equals(method.getName())
+                        ? preparedStatement(parameterMetaData(versionType, parameterCount((String) args[0])))
+                        : defaultValue(method.getReturnType()));
+    }
+
+    private static int parameterCount(String sql) {
+        return (int) sql.chars().filter(c -> c == '?').count();
+    }
+
+    private static ParameterMetaData parameterMetaData(int versionType, int parameterCount) {
+        return proxy(ParameterMetaData.class, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getParameterCount" -> parameterCount;
+                    // multi-row statements repeat the parameters of a single row
+                    case "getParameterType" -> switch ((int) args[0] % 3) {
+                        case 1 -> Types.VARCHAR;
+                        case 2 -> versionType;
+                        default -> Types.BOOLEAN;
+                    };
+                    case "getPrecision" -> 50;
+                    case "getScale" -> (int) args[0] % 3 == 2 && versionType == Types.NUMERIC ? 1 : 0;
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static PreparedStatement preparedStatement(ParameterMetaData parameterMetaData) {
+        int[] batchCount = new int[1];
+        return proxy(PreparedStatement.class, (proxy, method, args) ->
+                switch (method.getName()) {
+                    case "getParameterMetaData" -> parameterMetaData;
+                    case "addBatch" -> {
+                        batchCount[0]++;
+                        yield null;
+                    }
+                    case "executeUpdate" -> 1;
+                    case "executeBatch" -> {
+                        int[] updateCounts = new int[batchCount[0]];
+                        Arrays.fill(updateCounts, 1);
+                        batchCount[0] = 0;
+                        yield updateCounts;
+                    }
+                    default -> defaultValue(method.getReturnType());
+                });
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        }
+        return null;
+    }
+
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return type.cast(Proxy.newProxyInstance(StubJdbc.class.getClassLoader(), new Class<?>[] { type }, handler));
+    }
+
+}
@@ -0,0 +1,60 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import nl.lawinegevaar.firebird.reservedwords.KeywordFiles;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Parsing of the Firebird keywords source files under {@code keywords/firebird}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FirebirdKeywordsFromSourceBenchmark {
+
+    @Param({ "2.0", "2.1", "2.5", "3.0", "4.0", "5.0" })
+    private String firebirdVersion;
+
+    private FirebirdKeywordsFromSource keywordsFromSource;
+    private FirebirdKeywordScanner scanner;
+    private ByteBuffer contents;
+
+    @Setup
+    public void setUp() throws IOException {
+        Path sourceFile = KeywordFiles.firebirdSourceFile(firebirdVersion);
+        keywordsFromSource = new FirebirdKeywordsFromSource(new BigDecimal(firebirdVersion), sourceFile.toString());
+        scanner = new FirebirdKeywordScanner(new BigDecimal(firebirdVersion));
+        contents = ByteBuffer.wrap(Files.readAllBytes(sourceFile));
+    }
+
+    /**
+     * Reading and parsing the file, as done by the resolver.
+     */
+    @Benchmark
+    public void readAndParse(Blackhole blackhole) {
+        try (Stream<FirebirdKeyword> keywordStream = keywordsFromSource.getKeywordStream()) {
+            keywordStream.forEach(blackhole::consume);
+        }
+    }
+
+    /**
+     * Parsing only, on contents already in memory.
+     */
+    @Benchmark
+    public List<FirebirdKeyword> parse() {
+        return scanner.scan(contents);
+    }
+
+}
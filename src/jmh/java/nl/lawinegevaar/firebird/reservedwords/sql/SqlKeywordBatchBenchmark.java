@@ -0,0 +1,54 @@
+package nl.lawinegevaar.firebird.reservedwords.sql;
+
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.StubJdbc;
+import nl.lawinegevaar.firebird.reservedwords.WriteMode;
+import org.openjdk.jmh.annotations.*;
+
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Chunking and batch binding of {@link AbstractSqlKeywordLoader}, against a stub prepared statement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlKeywordBatchBenchmark {
+
+    private static final int SQL_VERSION = 2016;
+
+    @Param({ "10000" })
+    private int keywordCount;
+    @Param({ "100", "500", "10000" })
+    private int batchSize;
+    @Param({ "false", "true" })
+    private boolean pipelined;
+    @Param({ "BATCH", "BULK" })
+    private WriteMode writeMode;
+
+    private List<SqlKeyword> keywords;
+    private BatchSettings batchSettings;
+    private Connection connection;
+
+    @Setup
+    public void setUp() {
+        keywords = IntStream.range(0, keywordCount)
+                .mapToObj(idx -> new SqlKeyword("KEYWORD_" + idx, SQL_VERSION, idx % 2 == 0))
+                .toList();
+        batchSettings = new BatchSettings(batchSize, pipelined, writeMode);
+        connection = StubJdbc.connection(Types.SMALLINT);
+    }
+
+    @Benchmark
+    public void mergeKeywords() {
+        new MergeSqlKeywords(keywords::stream).loadKeywords(connection, batchSettings);
+    }
+
+}
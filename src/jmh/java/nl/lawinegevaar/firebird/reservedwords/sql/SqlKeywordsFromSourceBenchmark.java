@@ -0,0 +1,41 @@
+package nl.lawinegevaar.firebird.reservedwords.sql;
+
+import nl.lawinegevaar.firebird.reservedwords.KeywordFiles;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Reading of the SQL standard keyword files under {@code keywords/sql}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SqlKeywordsFromSourceBenchmark {
+
+    @Param({ "1992", "2003", "2016" })
+    private String sqlVersion;
+    @Param({ "reserved.txt", "non-reserved.txt" })
+    private String fileName;
+
+    private SqlKeywordsFromSource keywordsFromSource;
+
+    @Setup
+    public void setUp() {
+        keywordsFromSource = new SqlKeywordsFromSource(Integer.parseInt(sqlVersion),
+                KeywordFiles.sqlKeywordsFile(sqlVersion, fileName).toString(), "reserved.txt".equals(fileName));
+    }
+
+    @Benchmark
+    public void readKeywords(Blackhole blackhole) {
+        try (Stream<SqlKeyword> keywordStream = keywordsFromSource.getKeywordStream()) {
+            keywordStream.forEach(blackhole::consume);
+        }
+    }
+
+}
@@ -0,0 +1,34 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+/**
+ * Settings for writing keywords in batches.
+ *
+ * @param batchSize
+ *         maximum number of rows per executed batch (chunk)
+ * @param pipelined
+ *         {@code true} to read the next chunk on a separate thread while the current chunk is executed
+ * @param writeMode
+ *         write mode ({@code null} for {@link WriteMode#BATCH})
+ */
+public record BatchSettings(int batchSize, boolean pipelined, WriteMode writeMode) {
+
+    public static final int DEFAULT_BATCH_SIZE = 500;
+    public static final BatchSettings DEFAULT = new BatchSettings(DEFAULT_BATCH_SIZE, false, WriteMode.BATCH);
+
+    public BatchSettings {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be 1 or higher, was: " + batchSize);
+        }
+        if (writeMode == null) {
+            writeMode = WriteMode.BATCH;
+        }
+    }
+
+    /**
+     * @return maximum number of rows per executed statement (see {@link WriteMode#rowsPerStatement(int)})
+     */
+    public int rowsPerStatement() {
+        return writeMode.rowsPerStatement(batchSize);
+    }
+
+}
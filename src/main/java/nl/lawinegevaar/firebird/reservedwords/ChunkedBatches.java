@@ -0,0 +1,188 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Splits a stream into chunks of at most {@link BatchSettings#batchSize()} elements.
+ * <p>
+ * At most three chunks are in memory at any time (one being read, one queued, one being executed), so memory stays
+ * flat regardless of the size of the stream.
+ * </p>
+ */
+public final class ChunkedBatches {
+
+    private static final Object END_OF_STREAM = new Object();
+
+    private ChunkedBatches() {
+        // no instances
+    }
+
+    /**
+     * Passes the elements of {@code stream} to {@code chunkConsumer} in chunks.
+     * <p>
+     * When {@link BatchSettings#pipelined()} is {@code true}, the stream is consumed on a separate thread, so reading
+     * and parsing the next chunk overlaps with the consumer executing the current chunk. The consumer is always called
+     * on the calling thread, and must not retain the chunk after it returns.
+     * </p>
+     *
+     * @param stream
+     *         stream to chunk (not closed by this method)
+     * @param batchSettings
+     *         batch settings
+     * @param chunkConsumer
+     *         consumer of chunks
+     * @param <T>
+     *         type of element
+     * @return number of chunks passed to the consumer
+     * @throws KeywordProcessingException
+     *         if reading the stream failed, or if interrupted while waiting for the next chunk
+     */
+    public static <T> int forEachChunk(Stream<T> stream, BatchSettings batchSettings,
+            Consumer<List<T>> chunkConsumer) throws KeywordProcessingException {
+        return batchSettings.pipelined()
+                ? forEachChunkPipelined(stream, batchSettings.batchSize(), chunkConsumer)
+                : forEachChunkSequential(stream, batchSettings.batchSize(), chunkConsumer);
+    }
+
+    /**
+     * @param updateCounts
+     *         update counts of an executed batch
+     * @return sum of the known update counts (ignoring {@link Statement#SUCCESS_NO_INFO})
+     */
+    public static int totalUpdateCount(int[] updateCounts) {
+        int total = 0;
+        for (int updateCount : updateCounts) {
+            if (updateCount > 0) {
+                total += updateCount;
+            }
+        }
+        return total;
+    }
+
+    private static <T> int forEachChunkSequential(Stream<T> stream, int batchSize, Consumer<List<T>> chunkConsumer) {
+        int chunkCount = 0;
+        var chunk = new ArrayList<T>(batchSize);
+        Iterator<T> iterator = stream.iterator();
+        while (iterator.hasNext()) {
+            chunk.add(iterator.next());
+            if (chunk.size() == batchSize) {
+                chunkConsumer.accept(chunk);
+                chunkCount++;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            chunkConsumer.accept(chunk);
+            chunkCount++;
+        }
+        return chunkCount;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> int forEachChunkPipelined(Stream<T> stream, int batchSize, Consumer<List<T>> chunkConsumer) {
+        var producer = new ChunkProducer<>(stream, batchSize);
+        var producerThread = new Thread(producer, "keyword-chunk-producer");
+        producerThread.setDaemon(true);
+        producerThread.start();
+        int chunkCount = 0;
+        try {
+            Object item;
+            while ((item = producer.queue.take()) != END_OF_STREAM) {
+                if (item instanceof ProducerFailure failure) {
+                    throw failure.asRuntimeException();
+                }
+                chunkConsumer.accept((List<T>) item);
+                chunkCount++;
+            }
+            return chunkCount;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeywordProcessingException("Interrupted while waiting for next chunk", e);
+        } finally {
+            producer.cancelled = true;
+            producer.queue.clear();
+            joinUninterruptibly(producerThread);
+        }
+    }
+
+    private static void joinUninterruptibly(Thread thread) {
+        boolean interrupted = false;
+        while (thread.isAlive()) {
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static final class ChunkProducer<T> implements Runnable {
+
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(1);
+        private final Stream<T> stream;
+        private final int batchSize;
+        private volatile boolean cancelled;
+
+        private ChunkProducer(Stream<T> stream, int batchSize) {
+            this.stream = stream;
+            this.batchSize = batchSize;
+        }
+
+        @Override
+        public void run() {
+            try {
+                var chunk = new ArrayList<T>(batchSize);
+                Iterator<T> iterator = stream.iterator();
+                while (!cancelled && iterator.hasNext()) {
+                    chunk.add(iterator.next());
+                    if (chunk.size() == batchSize) {
+                        publish(chunk);
+                        chunk = new ArrayList<>(batchSize);
+                    }
+                }
+                if (!chunk.isEmpty()) {
+                    publish(chunk);
+                }
+                publish(END_OF_STREAM);
+            } catch (Throwable t) {
+                publish(new ProducerFailure(t));
+            }
+        }
+
+        private void publish(Object item) {
+            try {
+                while (!cancelled) {
+                    if (queue.offer(item, 100, TimeUnit.MILLISECONDS)) {
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                cancelled = true;
+            }
+        }
+    }
+
+    private record ProducerFailure(Throwable cause) {
+
+        RuntimeException asRuntimeException() {
+            if (cause instanceof RuntimeException runtimeException) {
+                return runtimeException;
+            } else if (cause instanceof Error error) {
+                throw error;
+            }
+            return new KeywordProcessingException("Could not read keywords", cause);
+        }
+    }
+
+}
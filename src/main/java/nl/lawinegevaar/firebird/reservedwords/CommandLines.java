@@ -0,0 +1,97 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordLookup;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordSnapshot;
+import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInfo;
+import org.apache.commons.cli.CommandLine;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Option handling shared by the command line tools.
+ */
+public final class CommandLines {
+
+    private CommandLines() {
+        // no instances
+    }
+
+    /**
+     * Gets the value of an option that requires a positive integer.
+     * <p>
+     * If the value is not a positive integer, prints an error and the usage, and exits.
+     * </p>
+     *
+     * @param commandLine
+     *         parsed command line
+     * @param option
+     *         long name of the option
+     * @param defaultValue
+     *         value if the option is not specified
+     * @param printUsage
+     *         prints the usage of the tool
+     * @return value of the option, or {@code defaultValue}
+     */
+    public static int positiveIntValue(CommandLine commandLine, String option, int defaultValue,
+            Runnable printUsage) {
+        if (!commandLine.hasOption(option)) {
+            return defaultValue;
+        }
+        try {
+            int value = Integer.parseInt(commandLine.getOptionValue(option));
+            if (value > 0) {
+                return value;
+            }
+        } catch (NumberFormatException ignored) {
+            // handled below
+        }
+        System.err.printf("Invalid command line: option --%s requires a positive integer%n", option);
+        printUsage.run();
+        System.exit(-1);
+        throw new AssertionError("should not get here");
+    }
+
+    /**
+     * Loads the keyword catalog from the local files of option {@code --store-dir} (see
+     * {@link FileKeywordStore}), or from the database if that option is not specified.
+     *
+     * @param commandLine
+     *         parsed command line
+     * @return keyword catalog
+     * @throws KeywordProcessingException
+     *         for errors reading the keywords
+     */
+    public static KeywordCatalog loadCatalog(CommandLine commandLine) throws KeywordProcessingException {
+        if (commandLine.hasOption("store-dir")) {
+            Path storeDirectory = Path.of(commandLine.getOptionValue("store-dir"));
+            return KeywordCatalog.from(
+                    FileKeywordStore.firebird(storeDirectory.resolve(FileKeywordStore.FIREBIRD_FILE_NAME)),
+                    FileKeywordStore.sql(storeDirectory.resolve(FileKeywordStore.SQL_FILE_NAME)));
+        }
+        return KeywordCatalog.load(DatabaseInfo.createDatabaseInfo().getDataSource());
+    }
+
+    /**
+     * Gets the Firebird keywords from the snapshot file of option {@code --snapshot}, or otherwise as
+     * {@link #loadCatalog(CommandLine)}.
+     *
+     * @param commandLine
+     *         parsed command line
+     * @return function from Firebird version to its keywords (empty for an unknown version)
+     * @throws KeywordProcessingException
+     *         for errors reading the keywords
+     */
+    public static Function<BigDecimal, Optional<KeywordLookup>> firebirdKeywords(CommandLine commandLine)
+            throws KeywordProcessingException {
+        if (commandLine.hasOption("snapshot")) {
+            return KeywordSnapshot.open(Path.of(commandLine.getOptionValue("snapshot")))::firebird;
+        }
+        KeywordCatalog catalog = loadCatalog(commandLine);
+        return version -> catalog.firebird(version).map(KeywordLookup.class::cast);
+    }
+
+}
@@ -0,0 +1,73 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordSnapshot;
+import org.apache.commons.cli.*;
+
+import java.nio.file.Path;
+
+/**
+ * Exports the keywords of all Firebird and SQL standard versions to a binary snapshot file (see
+ * {@link KeywordSnapshot}).
+ */
+@Slf4j
+public class ExportKeywordSnapshot {
+
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        if (!commandLine.hasOption("o")) {
+            System.err.println("Invalid command line: option -o or --output is required");
+            printUsage();
+            System.exit(-1);
+        }
+        Path snapshotFile = Path.of(commandLine.getOptionValue("o"));
+
+        KeywordCatalog catalog = CommandLines.loadCatalog(commandLine);
+        KeywordSnapshot.write(catalog, snapshotFile);
+        System.out.printf("Exported %d words, %d Firebird versions and %d SQL versions to %s%n", catalog.wordCount(),
+                catalog.firebirdVersions().size(), catalog.sqlVersions().size(), snapshotFile);
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("ExportKeywordSnapshot", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder("o")
+                        .longOpt("output")
+                        .hasArg().argName("FILENAME")
+                        .desc("Snapshot file to write; required")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Reads the keywords from the local files written by PopulateAllKeywords --store-dir "
+                                + "instead of the database")
+                        .build());
+    }
+
+}
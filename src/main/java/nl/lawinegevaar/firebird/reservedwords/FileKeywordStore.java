@@ -0,0 +1,150 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Keyword store in a local file, for use without a Firebird server.
+ * <p>
+ * The file has a line per keyword with the version, word and reserved status ({@code true}, {@code false} or empty
+ * if unknown) separated by tabs. The file is read once on construction and the keywords are kept in memory; each
+ * write replaces the file atomically.
+ * </p>
+ *
+ * @param <V>
+ *         type of version
+ */
+@Slf4j
+public final class FileKeywordStore<V extends Comparable<V>> extends InMemoryKeywordStore<V> {
+
+    /**
+     * File name of the Firebird keywords in a store directory.
+     */
+    public static final String FIREBIRD_FILE_NAME = "fb_keyword.tsv";
+    /**
+     * File name of the SQL standard keywords in a store directory.
+     */
+    public static final String SQL_FILE_NAME = "sql_keyword.tsv";
+
+    private final Path file;
+    private final Function<V, String> versionFormatter;
+
+    private FileKeywordStore(Path file, Function<String, V> versionParser, Function<V, String> versionFormatter)
+            throws KeywordProcessingException {
+        this.file = file;
+        this.versionFormatter = versionFormatter;
+        if (Files.exists(file)) {
+            read(versionParser);
+        }
+    }
+
+    /**
+     * Opens a store of Firebird keywords.
+     *
+     * @param file
+     *         path of the store file; it is created on first write if it doesn't exist
+     * @return store
+     * @throws KeywordProcessingException
+     *         if the existing file could not be read or is invalid
+     */
+    public static FileKeywordStore<BigDecimal> firebird(Path file) throws KeywordProcessingException {
+        return new FileKeywordStore<>(file, BigDecimal::new, BigDecimal::toPlainString);
+    }
+
+    /**
+     * Opens a store of SQL standard keywords.
+     *
+     * @param file
+     *         path of the store file; it is created on first write if it doesn't exist
+     * @return store
+     * @throws KeywordProcessingException
+     *         if the existing file could not be read or is invalid
+     */
+    public static FileKeywordStore<Integer> sql(Path file) throws KeywordProcessingException {
+        return new FileKeywordStore<>(file, Integer::valueOf, String::valueOf);
+    }
+
+    private void read(Function<String, V> versionParser) {
+        var keywordsByVersion = new TreeMap<V, Map<String, Boolean>>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                String[] fields = line.split("\t", -1);
+                if (fields.length != 3 || fields[1].isEmpty()) {
+                    throw new KeywordProcessingException("Invalid line " + lineNumber + " in keyword store " + file);
+                }
+                V version;
+                try {
+                    version = versionParser.apply(fields[0]);
+                } catch (NumberFormatException e) {
+                    throw new KeywordProcessingException(
+                            "Invalid version on line " + lineNumber + " in keyword store " + file, e);
+                }
+                keywordsByVersion.computeIfAbsent(version, v -> new HashMap<>())
+                        .put(fields[1], fields[2].isEmpty() ? null : Boolean.valueOf(fields[2]));
+            }
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Keyword store file not found or other IO error", e);
+        }
+        keywordsByVersion.forEach(super::replaceKeywords);
+        log.info("Read {} versions from keyword store {}", keywordsByVersion.size(), file);
+    }
+
+    @Override
+    protected void replaceKeywords(V version, Map<String, Boolean> keywords) {
+        Map<String, Boolean> previousKeywords = keywordsByVersion().getOrDefault(version, Map.of());
+        super.replaceKeywords(version, keywords);
+        try {
+            persist();
+        } catch (KeywordProcessingException e) {
+            super.replaceKeywords(version, previousKeywords);
+            throw e;
+        }
+    }
+
+    private void persist() {
+        Path directory = file.toAbsolutePath().getParent();
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try {
+                try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+                    for (Map.Entry<V, Map<String, Boolean>> versionEntry : keywordsByVersion().entrySet()) {
+                        String version = versionFormatter.apply(versionEntry.getKey());
+                        for (Map.Entry<String, Boolean> entry : new TreeMap<>(versionEntry.getValue()).entrySet()) {
+                            writer.write(version);
+                            writer.write('\t');
+                            writer.write(entry.getKey());
+                            writer.write('\t');
+                            writer.write(entry.getValue() != null ? entry.getValue().toString() : "");
+                            writer.newLine();
+                        }
+                    }
+                }
+                Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not write keyword store " + file, e);
+        }
+    }
+
+}
@@ -0,0 +1,159 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Log of the input files of the last import of each version, in table {@code IMPORT_LOG}.
+ * <p>
+ * Each input file is recorded with its SHA-256 hash, so an import can be skipped if none of the input files of the
+ * version changed since the last import (see {@link ImportOptions#importLog()}).
+ * </p>
+ */
+@Slf4j
+public final class ImportLog {
+
+    /**
+     * Version type of Firebird versions.
+     */
+    public static final String FIREBIRD = "FB";
+    /**
+     * Version type of SQL standard versions.
+     */
+    public static final String SQL = "SQL";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final DataSource dataSource;
+
+    public ImportLog(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    /**
+     * @param versionType
+     *         {@link #FIREBIRD} or {@link #SQL}
+     * @param version
+     *         version
+     * @return input files of the last import of the version (file to SHA-256 hash), empty if not imported before
+     * @throws KeywordProcessingException
+     *         for data-access errors
+     */
+    public Map<String, String> read(String versionType, BigDecimal version) throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement pstmt = connection.prepareStatement("""
+                     select INPUT_FILE, SHA256
+                     from IMPORT_LOG
+                     where VERSION_TYPE = ? and VERSION = ?
+                     order by FILE_INDEX""")) {
+            pstmt.setString(1, versionType);
+            pstmt.setBigDecimal(2, version);
+            var inputHashes = new LinkedHashMap<String, String>();
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    inputHashes.put(rs.getString(1), rs.getString(2));
+                }
+            }
+            return inputHashes;
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    /**
+     * Replaces the logged input files of a version.
+     *
+     * @param versionType
+     *         {@link #FIREBIRD} or {@link #SQL}
+     * @param version
+     *         version
+     * @param inputHashes
+     *         input files of the import (file to SHA-256 hash, see {@link #hash(List)})
+     * @throws KeywordProcessingException
+     *         for data-access errors
+     */
+    public void record(String versionType, BigDecimal version, Map<String, String> inputHashes)
+            throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (PreparedStatement pstmt = connection.prepareStatement(
+                        "delete from IMPORT_LOG where VERSION_TYPE = ? and VERSION = ?")) {
+                    pstmt.setString(1, versionType);
+                    pstmt.setBigDecimal(2, version);
+                    pstmt.executeUpdate();
+                }
+                try (PreparedStatement pstmt = connection.prepareStatement("""
+                        insert into IMPORT_LOG (VERSION_TYPE, VERSION, FILE_INDEX, INPUT_FILE, SHA256)
+                        values (?, ?, ?, ?, ?)""")) {
+                    int fileIndex = 0;
+                    for (Map.Entry<String, String> entry : inputHashes.entrySet()) {
+                        pstmt.setString(1, versionType);
+                        pstmt.setBigDecimal(2, version);
+                        pstmt.setInt(3, fileIndex++);
+                        pstmt.setString(4, entry.getKey());
+                        pstmt.setString(5, entry.getValue());
+                        pstmt.addBatch();
+                    }
+                    pstmt.executeBatch();
+                }
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    /**
+     * Calculates the SHA-256 hash of input files.
+     *
+     * @param inputFiles
+     *         input files
+     * @return input files (in the order of {@code inputFiles}) to their SHA-256 hash (lower case hexadecimal)
+     * @throws KeywordProcessingException
+     *         if an input file cannot be read
+     */
+    public static Map<String, String> hash(List<String> inputFiles) throws KeywordProcessingException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-256
+            throw new AssertionError(e);
+        }
+        var buffer = new byte[BUFFER_SIZE];
+        var inputHashes = new LinkedHashMap<String, String>();
+        for (String inputFile : inputFiles) {
+            try (InputStream in = Files.newInputStream(Path.of(inputFile))) {
+                int read;
+                while ((read = in.read(buffer)) != -1) {
+                    digest.update(buffer, 0, read);
+                }
+            } catch (IOException e) {
+                throw new KeywordProcessingException("Could not read input file " + inputFile, e);
+            }
+            inputHashes.put(inputFile, HexFormat.of().formatHex(digest.digest()));
+        }
+        return inputHashes;
+    }
+
+}
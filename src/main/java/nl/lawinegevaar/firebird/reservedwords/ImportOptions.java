@@ -0,0 +1,53 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import lombok.Builder;
+
+/**
+ * Options for writing resolved keywords to the database.
+ *
+ * @param batchSettings
+ *         batch settings ({@code null} for {@link BatchSettings#DEFAULT})
+ * @param deleteAll
+ *         {@code true} to delete all existing keywords of the version before writing
+ * @param sync
+ *         {@code true} to only write the differences with the existing keywords of the version (see
+ *         {@link KeywordDiff}); cannot be combined with {@code deleteAll}
+ * @param importLog
+ *         import log to skip versions whose input files did not change since their last import, and to record the
+ *         input files of each import; {@code null} to always import and not record anything
+ * @param force
+ *         {@code true} to import versions even if their input files did not change (only relevant with an import
+ *         log); versions are also imported with {@code deleteAll} or {@code sync}, as those repair the existing
+ *         keywords of a version (see {@link #unchangedImportReason()})
+ */
+@Builder
+public record ImportOptions(BatchSettings batchSettings, boolean deleteAll, boolean sync, ImportLog importLog,
+        boolean force) {
+
+    public static final ImportOptions DEFAULT = ImportOptions.builder().build();
+
+    public ImportOptions {
+        if (batchSettings == null) {
+            batchSettings = BatchSettings.DEFAULT;
+        }
+        if (deleteAll && sync) {
+            throw new IllegalArgumentException("deleteAll and sync cannot be combined");
+        }
+    }
+
+    /**
+     * @return option for which a version is imported even if its input files did not change since its last import
+     * ({@code --force}, {@code --sync} or {@code --delete-all}), or {@code null} if such a version is skipped
+     */
+    public String unchangedImportReason() {
+        if (force) {
+            return "--force";
+        } else if (sync) {
+            return "--sync";
+        } else if (deleteAll) {
+            return "--delete-all";
+        }
+        return null;
+    }
+
+}
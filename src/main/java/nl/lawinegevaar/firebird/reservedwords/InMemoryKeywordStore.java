@@ -0,0 +1,75 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keyword store held in memory.
+ * <p>
+ * All operations are synchronized, so writes are atomic for concurrent readers.
+ * </p>
+ *
+ * @param <V>
+ *         type of version
+ */
+public class InMemoryKeywordStore<V extends Comparable<V>> implements KeywordStore<V> {
+
+    private final SortedMap<V, Map<String, Boolean>> keywordsByVersion = new TreeMap<>();
+
+    @Override
+    public synchronized SortedSet<V> versions() {
+        return Collections.unmodifiableSortedSet(new TreeSet<>(keywordsByVersion.keySet()));
+    }
+
+    @Override
+    public synchronized Map<String, Boolean> readKeywords(V version) {
+        Map<String, Boolean> keywords = keywordsByVersion.get(version);
+        return keywords != null ? Collections.unmodifiableMap(new HashMap<>(keywords)) : Map.of();
+    }
+
+    @Override
+    public synchronized void write(V version, ResolvedKeywords resolvedKeywords, boolean deleteAll) {
+        var keywords = deleteAll ? new HashMap<String, Boolean>() : new HashMap<>(readKeywords(version));
+        keywords.putAll(resolvedKeywords.keywords());
+        keywords.keySet().removeAll(resolvedKeywords.deletedKeywords());
+        replaceKeywords(version, keywords);
+    }
+
+    @Override
+    public synchronized KeywordDiff sync(V version, ResolvedKeywords resolvedKeywords) {
+        KeywordDiff diff = KeywordDiff.between(readKeywords(version), resolvedKeywords.keywords());
+        if (!diff.isEmpty()) {
+            replaceKeywords(version, new HashMap<>(resolvedKeywords.keywords()));
+        }
+        return diff;
+    }
+
+    /**
+     * Replaces all keywords of a version; called with the lock of this store held.
+     *
+     * @param version
+     *         version
+     * @param keywords
+     *         new keywords of the version (owned by this store after the call)
+     */
+    protected void replaceKeywords(V version, Map<String, Boolean> keywords) {
+        if (keywords.isEmpty()) {
+            keywordsByVersion.remove(version);
+        } else {
+            keywordsByVersion.put(version, keywords);
+        }
+    }
+
+    /**
+     * @return all keywords by version; must be called with the lock of this store held
+     */
+    protected SortedMap<V, Map<String, Boolean>> keywordsByVersion() {
+        return keywordsByVersion;
+    }
+
+}
@@ -0,0 +1,95 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Difference between the keywords of a version in the database and the resolved keywords of that version.
+ */
+public final class KeywordDiff {
+
+    private final SortedMap<String, Boolean> inserts;
+    private final SortedMap<String, Boolean> updates;
+    private final SortedSet<String> deletes;
+
+    private KeywordDiff(SortedMap<String, Boolean> inserts, SortedMap<String, Boolean> updates,
+            SortedSet<String> deletes) {
+        this.inserts = Collections.unmodifiableSortedMap(inserts);
+        this.updates = Collections.unmodifiableSortedMap(updates);
+        this.deletes = Collections.unmodifiableSortedSet(deletes);
+    }
+
+    /**
+     * Computes the changes needed to turn {@code current} into {@code target}.
+     *
+     * @param current
+     *         current keywords (word to reserved status, status may be {@code null})
+     * @param target
+     *         target keywords (word to reserved status)
+     * @return difference
+     */
+    public static KeywordDiff between(Map<String, Boolean> current, Map<String, Boolean> target) {
+        var inserts = new TreeMap<String, Boolean>();
+        var updates = new TreeMap<String, Boolean>();
+        var deletes = new TreeSet<String>();
+        target.forEach((word, reserved) -> {
+            if (!current.containsKey(word)) {
+                inserts.put(word, reserved);
+            } else if (!Objects.equals(current.get(word), reserved)) {
+                updates.put(word, reserved);
+            }
+        });
+        current.keySet().forEach(word -> {
+            if (!target.containsKey(word)) {
+                deletes.add(word);
+            }
+        });
+        return new KeywordDiff(inserts, updates, deletes);
+    }
+
+    /**
+     * @return keywords to insert (word to reserved status), sorted by word
+     */
+    public SortedMap<String, Boolean> inserts() {
+        return inserts;
+    }
+
+    /**
+     * @return keywords to update (word to new reserved status), sorted by word
+     */
+    public SortedMap<String, Boolean> updates() {
+        return updates;
+    }
+
+    /**
+     * @return keywords to delete, sorted
+     */
+    public SortedSet<String> deletes() {
+        return deletes;
+    }
+
+    /**
+     * @return {@code true} if there are no changes
+     */
+    public boolean isEmpty() {
+        return inserts.isEmpty() && updates.isEmpty() && deletes.isEmpty();
+    }
+
+    /**
+     * @return human-readable summary of the number of changes
+     */
+    public String summary() {
+        return String.format("%d inserted, %d updated, %d deleted", inserts.size(), updates.size(), deletes.size());
+    }
+
+    @Override
+    public String toString() {
+        return "KeywordDiff{" + summary() + '}';
+    }
+
+}
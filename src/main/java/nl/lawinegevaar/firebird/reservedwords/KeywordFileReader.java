@@ -0,0 +1,96 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Reads keyword input files (ISO-8859-1).
+ * <p>
+ * Files are small, so they are read into a heap buffer instead of memory-mapped: a mapped file cannot be replaced on
+ * Windows until the buffer is garbage-collected, and truncating it while it is read crashes the reader.
+ * </p>
+ * <p>
+ * Lines are recognized at byte level, so blank lines and comment lines are skipped without decoding them, and only
+ * the keywords are materialized as strings.
+ * </p>
+ */
+public final class KeywordFileReader {
+
+    private KeywordFileReader() {
+        // no instances
+    }
+
+    /**
+     * Reads a file into memory.
+     *
+     * @param filePath
+     *         path of the file
+     * @return buffer with the contents of the file
+     * @throws KeywordProcessingException
+     *         if the file does not exist, or for other IO errors
+     */
+    public static ByteBuffer read(String filePath) throws KeywordProcessingException {
+        try {
+            return ByteBuffer.wrap(Files.readAllBytes(Path.of(filePath)));
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Keywords file not found or other IO error", e);
+        }
+    }
+
+    /**
+     * Reads a file with a keyword per line.
+     * <p>
+     * Leading and trailing whitespace (as {@link String#trim()}) is removed. Blank lines and lines starting with
+     * {@code #} are skipped.
+     * </p>
+     *
+     * @param filePath
+     *         path of the file
+     * @return keywords in order of occurrence
+     * @throws KeywordProcessingException
+     *         if the file does not exist, or for other IO errors
+     */
+    public static Stream<String> readKeywords(String filePath) throws KeywordProcessingException {
+        return readKeywords(read(filePath)).stream();
+    }
+
+    private static List<String> readKeywords(ByteBuffer buffer) {
+        var keywords = new ArrayList<String>();
+        int limit = buffer.limit();
+        int lineStart = buffer.position();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            byte b;
+            while (lineEnd < limit && (b = buffer.get(lineEnd)) != '\n' && b != '\r') {
+                lineEnd++;
+            }
+            int start = lineStart;
+            int end = lineEnd;
+            while (start < end && isWhitespace(buffer.get(start))) {
+                start++;
+            }
+            while (end > start && isWhitespace(buffer.get(end - 1))) {
+                end--;
+            }
+            if (start < end && buffer.get(start) != '#') {
+                var bytes = new byte[end - start];
+                buffer.get(start, bytes);
+                keywords.add(new String(bytes, StandardCharsets.ISO_8859_1));
+            }
+            lineStart = lineEnd + 1;
+        }
+        return keywords;
+    }
+
+    private static boolean isWhitespace(byte b) {
+        // String.trim() semantics: any character up to and including space
+        return (b & 0xFF) <= ' ';
+    }
+
+}
@@ -1,9 +1,35 @@
 package nl.lawinegevaar.firebird.reservedwords;
 
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+
 import javax.sql.DataSource;
 
 public interface KeywordLoader {
 
-    void loadKeywords(DataSource dataSource) throws KeywordProcessingException;
+    default void loadKeywords(DataSource dataSource) throws KeywordProcessingException {
+        loadKeywords(dataSource, BatchSettings.DEFAULT);
+    }
+
+    /**
+     * Loads the keywords of this loader into the database.
+     *
+     * @param dataSource
+     *         data source of the keywords database
+     * @param batchSettings
+     *         batch settings
+     * @throws KeywordProcessingException
+     *         for errors reading or writing the keywords
+     */
+    void loadKeywords(DataSource dataSource, BatchSettings batchSettings) throws KeywordProcessingException;
+
+    /**
+     * Adds the keywords of this loader to an in-memory catalog, instead of the database.
+     *
+     * @param catalogBuilder
+     *         builder of the catalog to populate
+     * @throws KeywordProcessingException
+     *         for errors reading the keywords
+     */
+    void populate(KeywordCatalog.Builder catalogBuilder) throws KeywordProcessingException;
 
 }
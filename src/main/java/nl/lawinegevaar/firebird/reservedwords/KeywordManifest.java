@@ -0,0 +1,161 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import nl.lawinegevaar.firebird.reservedwords.fb.FirebirdKeywordSources;
+import nl.lawinegevaar.firebird.reservedwords.sql.SqlKeywordSources;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Manifest describing the input files of all Firebird and SQL standard versions.
+ * <p>
+ * The manifest is a properties file with keys {@code firebird.<version>.<option>} and {@code sql.<version>.<option>},
+ * where option is the long option name of {@code PopulateFbKeywords} or {@code PopulateSqlKeywords}. Options that
+ * accept multiple files take a comma-separated list. Relative paths are resolved against the directory of the
+ * manifest. For example:
+ * </p>
+ * <pre>
+ * firebird.5.0.keywords-source-file = firebird/5.0/ParserTokens.h
+ * firebird.5.0.delete-keywords = firebird/fb_general_keywords_to_remove.txt, firebird/5.0/delete-keywords.txt
+ * sql.2003.reserved = sql/2003/reserved.txt
+ * </pre>
+ */
+public final class KeywordManifest {
+
+    private static final String FIREBIRD_PREFIX = "firebird.";
+    private static final String SQL_PREFIX = "sql.";
+
+    private final List<FirebirdKeywordSources> firebirdSources;
+    private final List<SqlKeywordSources> sqlSources;
+
+    private KeywordManifest(List<FirebirdKeywordSources> firebirdSources, List<SqlKeywordSources> sqlSources) {
+        this.firebirdSources = List.copyOf(firebirdSources);
+        this.sqlSources = List.copyOf(sqlSources);
+    }
+
+    /**
+     * @return input files per Firebird version, ordered by version
+     */
+    public List<FirebirdKeywordSources> firebirdSources() {
+        return firebirdSources;
+    }
+
+    /**
+     * @return input files per SQL standard version, ordered by version
+     */
+    public List<SqlKeywordSources> sqlSources() {
+        return sqlSources;
+    }
+
+    /**
+     * Reads a manifest file.
+     *
+     * @param manifestFile
+     *         path of the manifest
+     * @return manifest
+     * @throws KeywordProcessingException
+     *         if the manifest could not be read, or contains an invalid key or version
+     */
+    public static KeywordManifest read(Path manifestFile) throws KeywordProcessingException {
+        var properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(manifestFile, StandardCharsets.ISO_8859_1)) {
+            properties.load(reader);
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Manifest file not found or other IO error", e);
+        }
+        Path baseDirectory = manifestFile.toAbsolutePath().getParent();
+
+        var firebirdBuilders = new TreeMap<BigDecimal, FirebirdKeywordSources.FirebirdKeywordSourcesBuilder>();
+        var sqlBuilders = new TreeMap<Integer, SqlKeywordSources.SqlKeywordSourcesBuilder>();
+        for (String key : new TreeSet<>(properties.stringPropertyNames())) {
+            List<String> paths = toPaths(baseDirectory, properties.getProperty(key));
+            if (key.startsWith(FIREBIRD_PREFIX)) {
+                ManifestKey manifestKey = ManifestKey.parse(key, FIREBIRD_PREFIX);
+                BigDecimal firebirdVersion = manifestKey.firebirdVersion();
+                var builder = firebirdBuilders.computeIfAbsent(firebirdVersion,
+                        v -> FirebirdKeywordSources.builder().firebirdVersion(v));
+                switch (manifestKey.option()) {
+                    case "keywords-source-file" -> builder.keywordsSourceFile(single(key, paths));
+                    case "override-non-reserved" -> builder.nonReservedOverrideFile(single(key, paths));
+                    case "override-reserved" -> builder.reservedOverrideFiles(paths);
+                    case "delete-keywords" -> builder.deleteKeywordsFiles(paths);
+                    default -> throw new KeywordProcessingException("Unknown option in manifest key: " + key);
+                }
+            } else if (key.startsWith(SQL_PREFIX)) {
+                ManifestKey manifestKey = ManifestKey.parse(key, SQL_PREFIX);
+                int sqlVersion = manifestKey.sqlVersion();
+                var builder = sqlBuilders.computeIfAbsent(sqlVersion,
+                        v -> SqlKeywordSources.builder().sqlVersion(v));
+                switch (manifestKey.option()) {
+                    case "non-reserved" -> builder.nonReservedFile(single(key, paths));
+                    case "reserved" -> builder.reservedFiles(paths);
+                    case "delete-keywords" -> builder.deleteKeywordsFiles(paths);
+                    default -> throw new KeywordProcessingException("Unknown option in manifest key: " + key);
+                }
+            } else {
+                throw new KeywordProcessingException("Unknown manifest key: " + key);
+            }
+        }
+
+        var firebirdSources = new ArrayList<FirebirdKeywordSources>();
+        firebirdBuilders.values().forEach(builder -> firebirdSources.add(builder.build()));
+        var sqlSources = new ArrayList<SqlKeywordSources>();
+        sqlBuilders.values().forEach(builder -> sqlSources.add(builder.build()));
+        return new KeywordManifest(firebirdSources, sqlSources);
+    }
+
+    private static List<String> toPaths(Path baseDirectory, String value) {
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(path -> !path.isEmpty())
+                .map(path -> baseDirectory.resolve(path).normalize().toString())
+                .toList();
+    }
+
+    private static String single(String key, List<String> paths) {
+        if (paths.size() != 1) {
+            throw new KeywordProcessingException("Manifest key " + key + " requires exactly one file");
+        }
+        return paths.get(0);
+    }
+
+    private record ManifestKey(String key, String version, String option) {
+
+        static ManifestKey parse(String key, String prefix) {
+            String versionAndOption = key.substring(prefix.length());
+            int separator = versionAndOption.lastIndexOf('.');
+            if (separator <= 0) {
+                throw new KeywordProcessingException("Invalid manifest key: " + key);
+            }
+            return new ManifestKey(key, versionAndOption.substring(0, separator),
+                    versionAndOption.substring(separator + 1));
+        }
+
+        BigDecimal firebirdVersion() {
+            try {
+                return new BigDecimal(version);
+            } catch (NumberFormatException e) {
+                throw new KeywordProcessingException("Invalid Firebird version in manifest key: " + key, e);
+            }
+        }
+
+        int sqlVersion() {
+            try {
+                return Integer.parseInt(version);
+            } catch (NumberFormatException e) {
+                throw new KeywordProcessingException("Invalid SQL version in manifest key: " + key, e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,63 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.util.Map;
+import java.util.SortedSet;
+
+/**
+ * Storage of the keywords of Firebird or SQL standard versions.
+ * <p>
+ * Writes of a single version are atomic: readers of the store see either all or none of the changes.
+ * </p>
+ *
+ * @param <V>
+ *         type of version ({@link java.math.BigDecimal} for Firebird, {@link Integer} for SQL standard)
+ */
+public interface KeywordStore<V extends Comparable<V>> {
+
+    /**
+     * @return versions that have keywords in this store
+     * @throws KeywordProcessingException
+     *         for errors accessing the store
+     */
+    SortedSet<V> versions() throws KeywordProcessingException;
+
+    /**
+     * @param version
+     *         version
+     * @return keywords of the version (word to reserved status, which may be {@code null} if unknown)
+     * @throws KeywordProcessingException
+     *         for errors accessing the store
+     */
+    Map<String, Boolean> readKeywords(V version) throws KeywordProcessingException;
+
+    /**
+     * Merges the resolved keywords into the version and removes its deleted keywords.
+     *
+     * @param version
+     *         version
+     * @param resolvedKeywords
+     *         resolved keywords
+     * @param deleteAll
+     *         {@code true} to first delete all existing keywords of the version
+     * @throws KeywordProcessingException
+     *         for errors accessing the store
+     */
+    void write(V version, ResolvedKeywords resolvedKeywords, boolean deleteAll) throws KeywordProcessingException;
+
+    /**
+     * Synchronizes the keywords of the version with the resolved keywords, writing only the differences.
+     * <p>
+     * Existing keywords that are not in the resolved keywords are deleted. If nothing changed, nothing is written.
+     * </p>
+     *
+     * @param version
+     *         version
+     * @param resolvedKeywords
+     *         resolved keywords
+     * @return changes applied to the store
+     * @throws KeywordProcessingException
+     *         for errors accessing the store
+     */
+    KeywordDiff sync(V version, ResolvedKeywords resolvedKeywords) throws KeywordProcessingException;
+
+}
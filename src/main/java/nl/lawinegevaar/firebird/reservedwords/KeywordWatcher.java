@@ -0,0 +1,256 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.fb.FirebirdKeywordSources;
+import nl.lawinegevaar.firebird.reservedwords.fb.PopulateFbKeywords;
+import nl.lawinegevaar.firebird.reservedwords.sql.PopulateSqlKeywords;
+import nl.lawinegevaar.firebird.reservedwords.sql.SqlKeywordSources;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Watches the input files of a {@link KeywordManifest}, and reloads only the versions whose input files changed.
+ * <p>
+ * A changed version is resolved again and synchronized with its keyword store (see {@link KeywordStore#sync}), so
+ * only the differences are written. Afterwards, a new {@link KeywordCatalog} with the reloaded versions replaces the
+ * published catalog. Catalogs are immutable and replaced atomically, so readers of {@link #catalog()} never block and
+ * never see a partially reloaded version. Events within {@value #DEBOUNCE_MILLIS} ms of each other are handled
+ * together, as editors often write a file in several steps. If a version cannot be reloaded (eg due to a syntax
+ * error in an input file, or because the file is still being written), the error is logged and the version keeps its
+ * previous keywords; the watcher keeps running.
+ * </p>
+ */
+@Slf4j
+public final class KeywordWatcher implements AutoCloseable {
+
+    static final long DEBOUNCE_MILLIS = 250;
+
+    private final KeywordStore<BigDecimal> firebirdStore;
+    private final KeywordStore<Integer> sqlStore;
+    private final ImportOptions importOptions;
+    private final Map<Path, List<FirebirdKeywordSources>> firebirdSourcesByFile = new HashMap<>();
+    private final Map<Path, List<SqlKeywordSources>> sqlSourcesByFile = new HashMap<>();
+    private final AtomicReference<KeywordCatalog> catalog;
+    private final Consumer<KeywordCatalog> publishListener;
+    private final WatchService watchService;
+
+    /**
+     * Creates a watcher; it does not watch the input files until {@link #run()}.
+     *
+     * @param manifest
+     *         manifest with the input files of all versions
+     * @param firebirdStore
+     *         store of the Firebird keywords
+     * @param sqlStore
+     *         store of the SQL standard keywords
+     * @param importOptions
+     *         options of the initial load; changed versions are always synchronized, with its batch settings and
+     *         import log
+     * @param initialCatalog
+     *         catalog with the current contents of the stores
+     * @param publishListener
+     *         called with each newly published catalog, on the thread of {@link #run()}
+     * @throws KeywordProcessingException
+     *         if the directories of the input files cannot be watched
+     */
+    public KeywordWatcher(KeywordManifest manifest, KeywordStore<BigDecimal> firebirdStore,
+            KeywordStore<Integer> sqlStore, ImportOptions importOptions, KeywordCatalog initialCatalog,
+            Consumer<KeywordCatalog> publishListener) throws KeywordProcessingException {
+        this.firebirdStore = firebirdStore;
+        this.sqlStore = sqlStore;
+        this.importOptions = ImportOptions.builder()
+                .batchSettings(importOptions.batchSettings())
+                .sync(true)
+                .importLog(importOptions.importLog())
+                .build();
+        catalog = new AtomicReference<>(initialCatalog);
+        this.publishListener = publishListener;
+        for (FirebirdKeywordSources sources : manifest.firebirdSources()) {
+            addInputFiles(firebirdSourcesByFile, sources.inputFiles(), sources);
+        }
+        for (SqlKeywordSources sources : manifest.sqlSources()) {
+            addInputFiles(sqlSourcesByFile, sources.inputFiles(), sources);
+        }
+
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            var directories = new HashSet<Path>();
+            firebirdSourcesByFile.keySet().forEach(file -> directories.add(file.getParent()));
+            sqlSourcesByFile.keySet().forEach(file -> directories.add(file.getParent()));
+            for (Path directory : directories) {
+                if (!Files.isDirectory(directory)) {
+                    log.warn("Directory {} does not exist, its input files are not watched", directory);
+                    continue;
+                }
+                directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+            }
+            log.info("Watching {} input files in {} directories", firebirdSourcesByFile.size()
+                    + sqlSourcesByFile.size(), directories.size());
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not watch the input files", e);
+        }
+    }
+
+    private static <S> void addInputFiles(Map<Path, List<S>> sourcesByFile, List<String> files, S sources) {
+        for (String file : files) {
+            sourcesByFile.computeIfAbsent(Path.of(file).toAbsolutePath().normalize(), p -> new ArrayList<>())
+                    .add(sources);
+        }
+    }
+
+    /**
+     * @return the latest published catalog
+     */
+    public KeywordCatalog catalog() {
+        return catalog.get();
+    }
+
+    /**
+     * Watches the input files and reloads changed versions, until this watcher is closed or the thread is
+     * interrupted.
+     */
+    public void run() {
+        try {
+            while (true) {
+                var changedFiles = new HashSet<Path>();
+                WatchKey key = watchService.take();
+                boolean overflow = collectChangedFiles(key, changedFiles);
+                while ((key = watchService.poll(DEBOUNCE_MILLIS, TimeUnit.MILLISECONDS)) != null) {
+                    overflow |= collectChangedFiles(key, changedFiles);
+                }
+                if (overflow) {
+                    // events were lost, so any file may have changed
+                    changedFiles.addAll(firebirdSourcesByFile.keySet());
+                    changedFiles.addAll(sqlSourcesByFile.keySet());
+                }
+                reload(changedFiles);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // closed, stop watching
+        }
+    }
+
+    private static boolean collectChangedFiles(WatchKey key, Set<Path> changedFiles) {
+        boolean overflow = false;
+        Path directory = (Path) key.watchable();
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                overflow = true;
+            } else {
+                changedFiles.add(directory.resolve((Path) event.context()));
+            }
+        }
+        key.reset();
+        return overflow;
+    }
+
+    /**
+     * Reloads the versions with input files in {@code changedFiles}, and publishes a new catalog if a version was
+     * reloaded.
+     *
+     * @param changedFiles
+     *         absolute, normalized paths of changed files (other files are ignored)
+     */
+    void reload(Set<Path> changedFiles) {
+        var firebirdSources = new LinkedHashSet<FirebirdKeywordSources>();
+        var sqlSources = new LinkedHashSet<SqlKeywordSources>();
+        for (Path file : changedFiles) {
+            firebirdSources.addAll(firebirdSourcesByFile.getOrDefault(file, List.of()));
+            sqlSources.addAll(sqlSourcesByFile.getOrDefault(file, List.of()));
+        }
+        if (firebirdSources.isEmpty() && sqlSources.isEmpty()) {
+            return;
+        }
+
+        long start = System.nanoTime();
+        var firebirdKeywords = new TreeMap<BigDecimal, Map<String, Boolean>>();
+        for (FirebirdKeywordSources sources : firebirdSources) {
+            BigDecimal firebirdVersion = sources.firebirdVersion();
+            try {
+                String summary = PopulateFbKeywords.populate(firebirdStore, sources, importOptions);
+                firebirdKeywords.put(firebirdVersion, firebirdStore.readKeywords(firebirdVersion));
+                log.info("Reloaded Firebird {}: {}", firebirdVersion, summary);
+            } catch (RuntimeException e) {
+                // not only KeywordProcessingException: an input file may be read while an editor rewrites it
+                log.error("Reloading Firebird {} failed, keeping its previous keywords", firebirdVersion, e);
+            }
+        }
+        var sqlKeywords = new TreeMap<Integer, Map<String, Boolean>>();
+        for (SqlKeywordSources sources : sqlSources) {
+            int sqlVersion = sources.sqlVersion();
+            try {
+                String summary = PopulateSqlKeywords.populate(sqlStore, sources, importOptions);
+                sqlKeywords.put(sqlVersion, sqlStore.readKeywords(sqlVersion));
+                log.info("Reloaded SQL {}: {}", sqlVersion, summary);
+            } catch (RuntimeException e) {
+                // not only KeywordProcessingException: an input file may be read while an editor rewrites it
+                log.error("Reloading SQL {} failed, keeping its previous keywords", sqlVersion, e);
+            }
+        }
+        if (firebirdKeywords.isEmpty() && sqlKeywords.isEmpty()) {
+            return;
+        }
+
+        // single writer: only the thread of run() replaces the catalog
+        KeywordCatalog newCatalog;
+        try {
+            KeywordCatalog.Builder builder = catalog.get().toBuilder();
+            firebirdKeywords.forEach((firebirdVersion, keywords) -> {
+                builder.clearFirebirdVersion(firebirdVersion);
+                keywords.forEach((word, reserved) ->
+                        builder.addFirebirdKeyword(firebirdVersion, word, Boolean.TRUE.equals(reserved)));
+            });
+            sqlKeywords.forEach((sqlVersion, keywords) -> {
+                builder.clearSqlVersion(sqlVersion);
+                keywords.forEach((word, reserved) ->
+                        builder.addSqlKeyword(sqlVersion, word, Boolean.TRUE.equals(reserved)));
+            });
+            newCatalog = builder.build();
+        } catch (RuntimeException e) {
+            log.error("Building the reloaded catalog failed, keeping the previous catalog", e);
+            return;
+        }
+        catalog.set(newCatalog);
+        log.info("Published catalog with {} reloaded versions in {} ms", firebirdKeywords.size() + sqlKeywords.size(),
+                (System.nanoTime() - start) / 1_000_000);
+        try {
+            publishListener.accept(newCatalog);
+        } catch (RuntimeException e) {
+            log.error("Publish listener failed", e);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            log.warn("Could not close watch service", e);
+        }
+    }
+
+}
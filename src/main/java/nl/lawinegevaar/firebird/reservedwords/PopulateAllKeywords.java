@@ -0,0 +1,258 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordHistory;
+import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInfo;
+import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInitializer;
+import nl.lawinegevaar.firebird.reservedwords.fb.FirebirdKeywordSources;
+import nl.lawinegevaar.firebird.reservedwords.fb.JdbcFirebirdKeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.fb.PopulateFbKeywords;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.sql.JdbcSqlKeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.sql.PopulateSqlKeywords;
+import nl.lawinegevaar.firebird.reservedwords.sql.SqlKeywordSources;
+import org.apache.commons.cli.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Loads the keywords of all Firebird and SQL standard versions described in a manifest (see {@link KeywordManifest})
+ * concurrently, sharing a single data source.
+ */
+@Slf4j
+public class PopulateAllKeywords {
+
+    private static final String DEFAULT_MANIFEST = "keywords/manifest.properties";
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        if (commandLine.hasOption("stats")) {
+            KeywordMetrics.printSummaryOnExit(System.out);
+        }
+        KeywordManifest manifest = KeywordManifest.read(Path.of(commandLine.getOptionValue("m", DEFAULT_MANIFEST)));
+        if (commandLine.hasOption("history") && commandLine.hasOption("store-dir")) {
+            System.err.println("Invalid command line: options --history and --store-dir cannot be combined");
+            printUsage();
+            System.exit(-1);
+        }
+        if (commandLine.hasOption("sync") && commandLine.hasOption("delete-all")) {
+            System.err.println("Invalid command line: options --sync and --delete-all cannot be combined");
+            printUsage();
+            System.exit(-1);
+        }
+        final BatchSettings batchSettings = new BatchSettings(
+                CommandLines.positiveIntValue(commandLine, "batch-size", BatchSettings.DEFAULT_BATCH_SIZE,
+                        PopulateAllKeywords::printUsage),
+                commandLine.hasOption("pipeline"),
+                getWriteMode(commandLine));
+        int versionCount = manifest.firebirdSources().size() + manifest.sqlSources().size();
+        int threads = CommandLines.positiveIntValue(commandLine, "threads",
+                Math.max(1, Math.min(versionCount, Runtime.getRuntime().availableProcessors())),
+                PopulateAllKeywords::printUsage);
+
+        KeywordStore<BigDecimal> firebirdStore;
+        KeywordStore<Integer> sqlStore;
+        DataSource dataSource = null;
+        if (commandLine.hasOption("store-dir")) {
+            Path storeDirectory = Path.of(commandLine.getOptionValue("store-dir"));
+            firebirdStore = FileKeywordStore.firebird(storeDirectory.resolve(FileKeywordStore.FIREBIRD_FILE_NAME));
+            sqlStore = FileKeywordStore.sql(storeDirectory.resolve(FileKeywordStore.SQL_FILE_NAME));
+        } else {
+            DatabaseInfo databaseInfo = DatabaseInfo.createDatabaseInfo();
+            new DatabaseInitializer(databaseInfo).initializeDatabase();
+            dataSource = databaseInfo.getDataSource();
+            firebirdStore = new JdbcFirebirdKeywordStore(dataSource, batchSettings);
+            sqlStore = new JdbcSqlKeywordStore(dataSource, batchSettings);
+        }
+        final ImportOptions importOptions = ImportOptions.builder()
+                .batchSettings(batchSettings)
+                .deleteAll(commandLine.hasOption("delete-all"))
+                .sync(commandLine.hasOption("sync"))
+                .importLog(dataSource != null ? new ImportLog(dataSource) : null)
+                .force(commandLine.hasOption("force"))
+                .build();
+
+        var tasks = new ArrayList<VersionTask>(versionCount);
+        for (FirebirdKeywordSources sources : manifest.firebirdSources()) {
+            tasks.add(new VersionTask("Firebird " + sources.firebirdVersion(),
+                    () -> PopulateFbKeywords.populate(firebirdStore, sources, importOptions)));
+        }
+        for (SqlKeywordSources sources : manifest.sqlSources()) {
+            tasks.add(new VersionTask("SQL " + sources.sqlVersion(),
+                    () -> PopulateSqlKeywords.populate(sqlStore, sources, importOptions)));
+        }
+
+        long start = System.nanoTime();
+        boolean failed = runAll(tasks, threads);
+        log.info("Loaded {} versions with {} threads in {} ms", versionCount, threads,
+                (System.nanoTime() - start) / 1_000_000);
+        if (failed) {
+            System.exit(-1);
+        }
+        if (!commandLine.hasOption("history") && !commandLine.hasOption("watch")) {
+            return;
+        }
+        KeywordCatalog catalog = KeywordCatalog.from(firebirdStore, sqlStore);
+        if (commandLine.hasOption("history")) {
+            KeywordHistory.of(catalog).write(dataSource);
+            System.out.println("Keyword history written to KEYWORD_HISTORY");
+        }
+        if (commandLine.hasOption("watch")) {
+            final DataSource historyDataSource = dataSource;
+            Consumer<KeywordCatalog> publishListener = commandLine.hasOption("history")
+                    ? newCatalog -> KeywordHistory.of(newCatalog).write(historyDataSource)
+                    : newCatalog -> {};
+            watch(new KeywordWatcher(manifest, firebirdStore, sqlStore, importOptions, catalog,
+                    publishListener));
+        }
+    }
+
+    private static void watch(KeywordWatcher watcher) {
+        Runtime.getRuntime().addShutdownHook(new Thread(watcher::close, "keyword-watcher-shutdown"));
+        System.out.println("Watching the input files for changes, press Ctrl+C to stop");
+        watcher.run();
+    }
+
+    private static boolean runAll(List<VersionTask> tasks, int threads) {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<String>>(tasks.size());
+            for (VersionTask task : tasks) {
+                futures.add(executor.submit(task.populate()));
+            }
+            boolean failed = false;
+            for (int idx = 0; idx < tasks.size(); idx++) {
+                String name = tasks.get(idx).name();
+                try {
+                    System.out.printf("%s: %s%n", name, futures.get(idx).get());
+                } catch (ExecutionException e) {
+                    failed = true;
+                    log.error("Loading keywords for {} failed", name, e.getCause());
+                    System.err.printf("%s: failed: %s%n", name, e.getCause());
+                }
+            }
+            return failed;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeywordProcessingException("Interrupted while loading keywords", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static WriteMode getWriteMode(CommandLine commandLine) {
+        try {
+            return WriteMode.of(commandLine.getOptionValue("write-mode", WriteMode.BATCH.name()));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid command line: option --write-mode requires batch, bulk or staged");
+            printUsage();
+            System.exit(-1);
+            throw new AssertionError("should not get here");
+        }
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("PopulateAllKeywords", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder("m")
+                        .longOpt("manifest")
+                        .hasArg().argName("FILENAME")
+                        .desc("Manifest with the input files of all versions (default " + DEFAULT_MANIFEST + ")")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("threads")
+                        .hasArg().argName("COUNT")
+                        .desc("Maximum number of versions loaded concurrently (default: number of processors)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("delete-all")
+                        .desc("Deletes all existing keywords for each version")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("force")
+                        .desc("Imports all versions, including versions whose input files did not change since the "
+                                + "last import (only checked when writing to the database)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("sync")
+                        .desc("Only writes the differences between the existing keywords of each version and the " +
+                                "input files, deleting keywords not in the input files; prints a change summary")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("batch-size")
+                        .hasArg().argName("ROWS")
+                        .desc("Maximum number of rows per executed batch (default " + BatchSettings.DEFAULT_BATCH_SIZE
+                                + ")")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("pipeline")
+                        .desc("Read the next batch while the current batch is executed")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("write-mode")
+                        .hasArg().argName("MODE")
+                        .desc("batch: a statement per keyword (default); bulk: multi-row statements of up to "
+                                + WriteMode.MAX_BULK_ROWS + " keywords; staged: bulk insert into a staging table, "
+                                + "applied with one merge and one delete")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("history")
+                        .desc("After loading, writes the version history of each word to table KEYWORD_HISTORY")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("watch")
+                        .desc("After loading, watches the input files of the manifest, and synchronizes the "
+                                + "versions with changed input files (and the history, with --history)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("stats")
+                        .desc("Prints execution statistics (rows/s, batch and commit latencies, connection pool) "
+                                + "at exit")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Writes the keywords to local files (" + FileKeywordStore.FIREBIRD_FILE_NAME + " and "
+                                + FileKeywordStore.SQL_FILE_NAME + ") in this directory instead of the database")
+                        .build());
+    }
+
+    private record VersionTask(String name, Callable<String> populate) {
+    }
+
+}
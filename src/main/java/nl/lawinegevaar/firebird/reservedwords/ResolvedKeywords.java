@@ -0,0 +1,69 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.util.Collections;
+import java.util.SortedMap;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keywords of a single version after applying all inputs in memory.
+ * <p>
+ * Inputs are applied in the same order as the individual loaders write to the database: merges (from source,
+ * non-reserved and reserved overrides) replace the reserved status of earlier merges, and deletes are applied last,
+ * and remove the word even if it was merged by an earlier input.
+ * </p>
+ */
+public final class ResolvedKeywords {
+
+    private final SortedMap<String, Boolean> keywords = new TreeMap<>();
+    private final SortedSet<String> deletedKeywords = new TreeSet<>();
+
+    /**
+     * Merges a keyword, replacing the reserved status if the word was already merged.
+     *
+     * @param word
+     *         keyword
+     * @param reserved
+     *         {@code true} reserved, {@code false} non-reserved
+     * @throws IllegalStateException
+     *         if a delete was already applied
+     */
+    public void merge(String word, boolean reserved) {
+        if (!deletedKeywords.isEmpty()) {
+            throw new IllegalStateException("Merges must be applied before deletes");
+        }
+        keywords.put(word, reserved);
+    }
+
+    /**
+     * Deletes a keyword.
+     *
+     * @param word
+     *         keyword
+     */
+    public void delete(String word) {
+        keywords.remove(word);
+        deletedKeywords.add(word);
+    }
+
+    /**
+     * @return keywords to merge (word to reserved status), sorted by word
+     */
+    public SortedMap<String, Boolean> keywords() {
+        return Collections.unmodifiableSortedMap(keywords);
+    }
+
+    /**
+     * @return keywords to delete, sorted
+     */
+    public SortedSet<String> deletedKeywords() {
+        return Collections.unmodifiableSortedSet(deletedKeywords);
+    }
+
+    @Override
+    public String toString() {
+        return "ResolvedKeywords{keywords=" + keywords.size() + ", deletedKeywords=" + deletedKeywords.size() + '}';
+    }
+
+}
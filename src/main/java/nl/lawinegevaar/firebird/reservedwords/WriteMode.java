@@ -0,0 +1,74 @@
+package nl.lawinegevaar.firebird.reservedwords;
+
+import java.util.Locale;
+
+/**
+ * How keywords are written to the keywords database.
+ */
+public enum WriteMode {
+
+    /**
+     * One single-row statement per keyword, executed as JDBC batches.
+     */
+    BATCH {
+        @Override
+        public int rowsPerStatement(int batchSize) {
+            return 1;
+        }
+    },
+    /**
+     * Multi-row statements of up to {@value #MAX_BULK_ROWS} keywords, executed as JDBC batches.
+     * <p>
+     * A merge uses a {@code union all} of the rows as its source, and a delete a {@code WORD in (...)} list. This
+     * divides the number of executions, and therefore the round trips on protocols without server-side batch support,
+     * by the number of rows per statement.
+     * </p>
+     */
+    BULK {
+        @Override
+        public int rowsPerStatement(int batchSize) {
+            return Math.min(batchSize, MAX_BULK_ROWS);
+        }
+    },
+    /**
+     * Keyword stores insert all keywords of a version into a global temporary staging table with {@link #BULK}
+     * statements, and apply them to the keyword table with one set-based merge and one set-based delete.
+     * <p>
+     * Loaders that do not write through a keyword store use {@link #BULK} statements.
+     * </p>
+     */
+    STAGED {
+        @Override
+        public int rowsPerStatement(int batchSize) {
+            return BULK.rowsPerStatement(batchSize);
+        }
+    };
+
+    /**
+     * Maximum rows per statement in {@link #BULK} mode.
+     * <p>
+     * Each row of a merge source is a separate {@code RDB$DATABASE} context, and Firebird allows at most 255 contexts
+     * per statement; this also keeps the input message well below its limit of 64 KB.
+     * </p>
+     */
+    public static final int MAX_BULK_ROWS = 100;
+
+    /**
+     * @param batchSize
+     *         maximum rows per chunk
+     * @return maximum number of rows per executed statement
+     */
+    public abstract int rowsPerStatement(int batchSize);
+
+    /**
+     * @param name
+     *         name of the mode, ignoring case
+     * @return write mode
+     * @throws IllegalArgumentException
+     *         if there is no write mode with that name
+     */
+    public static WriteMode of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+}
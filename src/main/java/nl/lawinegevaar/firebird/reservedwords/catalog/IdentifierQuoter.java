@@ -0,0 +1,147 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+
+/**
+ * Appends identifiers to SQL text, quoting them only when required for a Firebird version.
+ * <p>
+ * An identifier is quoted if it is a reserved word, is not a regular identifier (an ASCII letter followed by ASCII
+ * letters, digits, {@code _} or {@code $}), or contains lower case letters and case is preserved. Identifiers are
+ * appended character by character to the target, without creating intermediate strings. Instances are immutable and
+ * can be shared between threads.
+ * </p>
+ */
+public final class IdentifierQuoter {
+
+    private final KeywordLookup keywords;
+    private final boolean preserveCase;
+
+    /**
+     * @param keywords
+     *         keywords of the Firebird version (eg from {@link KeywordCatalog#firebird(java.math.BigDecimal)})
+     * @param preserveCase
+     *         {@code true} if identifiers are exact (as stored in the metadata), so identifiers with lower case letters
+     *         are quoted; {@code false} if identifiers are case-insensitive, so they are quoted in upper case if
+     *         quoting is required
+     */
+    public IdentifierQuoter(KeywordLookup keywords, boolean preserveCase) {
+        this.keywords = keywords;
+        this.preserveCase = preserveCase;
+    }
+
+    /**
+     * @param identifier
+     *         identifier
+     * @return {@code true} if the identifier must be quoted
+     * @throws IllegalArgumentException
+     *         if the identifier is empty
+     */
+    public boolean requiresQuoting(CharSequence identifier) {
+        int length = identifier.length();
+        if (length == 0) {
+            throw new IllegalArgumentException("identifier must not be empty");
+        }
+        if (!isLetter(identifier.charAt(0))) {
+            return true;
+        }
+        for (int idx = 1; idx < length; idx++) {
+            char c = identifier.charAt(idx);
+            if (!(isLetter(c) || c >= '0' && c <= '9' || c == '_' || c == '$')) {
+                return true;
+            }
+        }
+        return keywords.isReserved(identifier);
+    }
+
+    private boolean isLetter(char c) {
+        return c >= 'A' && c <= 'Z' || !preserveCase && c >= 'a' && c <= 'z';
+    }
+
+    /**
+     * Appends an identifier, quoted if required.
+     *
+     * @param target
+     *         target
+     * @param identifier
+     *         identifier
+     * @return {@code target}
+     * @throws IllegalArgumentException
+     *         if the identifier is empty
+     */
+    public StringBuilder appendIdentifier(StringBuilder target, CharSequence identifier) {
+        try {
+            append(target, identifier);
+            return target;
+        } catch (IOException e) {
+            // StringBuilder does not throw IOException
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Appends an identifier, quoted if required.
+     *
+     * @param target
+     *         target
+     * @param identifier
+     *         identifier
+     * @return {@code target}
+     * @throws IOException
+     *         for errors appending to the target
+     * @throws IllegalArgumentException
+     *         if the identifier is empty
+     */
+    public <A extends Appendable> A appendIdentifier(A target, CharSequence identifier) throws IOException {
+        append(target, identifier);
+        return target;
+    }
+
+    private void append(Appendable target, CharSequence identifier) throws IOException {
+        if (!requiresQuoting(identifier)) {
+            target.append(identifier);
+            return;
+        }
+        target.append('"');
+        for (int idx = 0; idx < identifier.length(); idx++) {
+            char c = identifier.charAt(idx);
+            if (c == '"') {
+                target.append('"');
+            } else if (!preserveCase && c >= 'a' && c <= 'z') {
+                c -= 'a' - 'A';
+            }
+            target.append(c);
+        }
+        target.append('"');
+    }
+
+    /**
+     * Appends identifiers, each quoted if required, separated by {@code separator}.
+     *
+     * @param target
+     *         target
+     * @param identifiers
+     *         identifiers
+     * @param separator
+     *         separator (eg {@code ", "})
+     * @return {@code target}
+     * @throws IOException
+     *         for errors appending to the target
+     * @throws IllegalArgumentException
+     *         if an identifier is empty
+     */
+    public <A extends Appendable> A appendIdentifiers(A target, Iterable<? extends CharSequence> identifiers,
+            CharSequence separator) throws IOException {
+        Iterator<? extends CharSequence> iterator = identifiers.iterator();
+        if (iterator.hasNext()) {
+            append(target, iterator.next());
+            while (iterator.hasNext()) {
+                target.append(separator);
+                append(target, iterator.next());
+            }
+        }
+        return target;
+    }
+
+}
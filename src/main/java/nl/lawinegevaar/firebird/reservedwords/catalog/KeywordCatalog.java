@@ -0,0 +1,225 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.KeywordStore;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.*;
+
+/**
+ * Immutable, in-memory catalog of the Firebird and SQL standard keywords.
+ * <p>
+ * All versions share a single sorted word table; each version is a pair of bitsets over that table (keywords and
+ * reserved words). Load it once with {@link #load(DataSource)} or {@link #from(KeywordStore, KeywordStore)}, or
+ * populate it directly from the keyword loaders with {@link #builder()}.
+ * </p>
+ */
+@Slf4j
+public final class KeywordCatalog {
+
+    private final WordTable wordTable;
+    private final NavigableMap<BigDecimal, KeywordSet> firebirdKeywords;
+    private final NavigableMap<Integer, KeywordSet> sqlKeywords;
+
+    private KeywordCatalog(WordTable wordTable, NavigableMap<BigDecimal, KeywordSet> firebirdKeywords,
+            NavigableMap<Integer, KeywordSet> sqlKeywords) {
+        this.wordTable = wordTable;
+        this.firebirdKeywords = Collections.unmodifiableNavigableMap(firebirdKeywords);
+        this.sqlKeywords = Collections.unmodifiableNavigableMap(sqlKeywords);
+    }
+
+    public Optional<KeywordSet> firebird(BigDecimal firebirdVersion) {
+        return Optional.ofNullable(firebirdKeywords.get(firebirdVersion));
+    }
+
+    public Optional<KeywordSet> sql(int sqlVersion) {
+        return Optional.ofNullable(sqlKeywords.get(sqlVersion));
+    }
+
+    public NavigableSet<BigDecimal> firebirdVersions() {
+        return firebirdKeywords.navigableKeySet();
+    }
+
+    public NavigableSet<Integer> sqlVersions() {
+        return sqlKeywords.navigableKeySet();
+    }
+
+    /**
+     * @return number of distinct words over all versions
+     */
+    public int wordCount() {
+        return wordTable.size();
+    }
+
+    WordTable wordTable() {
+        return wordTable;
+    }
+
+    /**
+     * Loads all rows of {@code FB_KEYWORD} and {@code SQL_KEYWORD}.
+     *
+     * @param dataSource
+     *         data source of the keywords database
+     * @return catalog
+     * @throws KeywordProcessingException
+     *         for data-access errors
+     */
+    public static KeywordCatalog load(DataSource dataSource) throws KeywordProcessingException {
+        var builder = builder();
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rs = statement.executeQuery("select WORD, FB_VERSION, RESERVED from FB_KEYWORD")) {
+                while (rs.next()) {
+                    builder.addFirebirdKeyword(rs.getBigDecimal(2), rs.getString(1), rs.getBoolean(3));
+                }
+            }
+            try (ResultSet rs = statement.executeQuery("select WORD, SQL_VERSION, RESERVED from SQL_KEYWORD")) {
+                while (rs.next()) {
+                    builder.addSqlKeyword(rs.getInt(2), rs.getString(1), rs.getBoolean(3));
+                }
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+        KeywordCatalog catalog = builder.build();
+        log.info("Loaded keyword catalog with {} words, {} Firebird versions and {} SQL versions",
+                catalog.wordCount(), catalog.firebirdKeywords.size(), catalog.sqlKeywords.size());
+        return catalog;
+    }
+
+    /**
+     * Loads all versions of a Firebird and a SQL standard keyword store.
+     * <p>
+     * Keywords with an unknown reserved status are considered non-reserved.
+     * </p>
+     *
+     * @param firebirdStore
+     *         store of the Firebird keywords
+     * @param sqlStore
+     *         store of the SQL standard keywords
+     * @return catalog
+     * @throws KeywordProcessingException
+     *         for errors accessing the stores
+     */
+    public static KeywordCatalog from(KeywordStore<BigDecimal> firebirdStore, KeywordStore<Integer> sqlStore)
+            throws KeywordProcessingException {
+        var builder = builder();
+        for (BigDecimal firebirdVersion : firebirdStore.versions()) {
+            firebirdStore.readKeywords(firebirdVersion).forEach((word, reserved) ->
+                    builder.addFirebirdKeyword(firebirdVersion, word, Boolean.TRUE.equals(reserved)));
+        }
+        for (Integer sqlVersion : sqlStore.versions()) {
+            sqlStore.readKeywords(sqlVersion).forEach((word, reserved) ->
+                    builder.addSqlKeyword(sqlVersion, word, Boolean.TRUE.equals(reserved)));
+        }
+        KeywordCatalog catalog = builder.build();
+        log.info("Loaded keyword catalog with {} words, {} Firebird versions and {} SQL versions",
+                catalog.wordCount(), catalog.firebirdKeywords.size(), catalog.sqlKeywords.size());
+        return catalog;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Creates a builder with all keywords of this catalog, to derive a catalog with some versions changed.
+     *
+     * @return builder
+     */
+    public Builder toBuilder() {
+        var builder = builder();
+        firebirdKeywords.forEach((firebirdVersion, keywordSet) -> keywordSet.forEachKeyword(
+                (word, reserved) -> builder.addFirebirdKeyword(firebirdVersion, word, reserved)));
+        sqlKeywords.forEach((sqlVersion, keywordSet) -> keywordSet.forEachKeyword(
+                (word, reserved) -> builder.addSqlKeyword(sqlVersion, word, reserved)));
+        return builder;
+    }
+
+    /**
+     * Builder of a keyword catalog.
+     * <p>
+     * Adding a word that already exists for a version replaces its reserved status, like the merge of the keyword
+     * loaders. Words are stored in upper case.
+     * </p>
+     */
+    public static final class Builder {
+
+        private final Map<BigDecimal, Map<String, Boolean>> firebirdKeywords = new TreeMap<>();
+        private final Map<Integer, Map<String, Boolean>> sqlKeywords = new TreeMap<>();
+
+        private Builder() {
+        }
+
+        public Builder addFirebirdKeyword(BigDecimal firebirdVersion, String word, boolean reserved) {
+            firebirdKeywords.computeIfAbsent(firebirdVersion, k -> new HashMap<>())
+                    .put(WordTable.toUpperAscii(word), reserved);
+            return this;
+        }
+
+        public Builder removeFirebirdKeyword(BigDecimal firebirdVersion, String word) {
+            Map<String, Boolean> versionKeywords = firebirdKeywords.get(firebirdVersion);
+            if (versionKeywords != null) {
+                versionKeywords.remove(WordTable.toUpperAscii(word));
+            }
+            return this;
+        }
+
+        public Builder clearFirebirdVersion(BigDecimal firebirdVersion) {
+            firebirdKeywords.remove(firebirdVersion);
+            return this;
+        }
+
+        public Builder addSqlKeyword(int sqlVersion, String word, boolean reserved) {
+            sqlKeywords.computeIfAbsent(sqlVersion, k -> new HashMap<>())
+                    .put(WordTable.toUpperAscii(word), reserved);
+            return this;
+        }
+
+        public Builder removeSqlKeyword(int sqlVersion, String word) {
+            Map<String, Boolean> versionKeywords = sqlKeywords.get(sqlVersion);
+            if (versionKeywords != null) {
+                versionKeywords.remove(WordTable.toUpperAscii(word));
+            }
+            return this;
+        }
+
+        public Builder clearSqlVersion(int sqlVersion) {
+            sqlKeywords.remove(sqlVersion);
+            return this;
+        }
+
+        public KeywordCatalog build() {
+            var allWords = new TreeSet<String>();
+            firebirdKeywords.values().forEach(versionKeywords -> allWords.addAll(versionKeywords.keySet()));
+            sqlKeywords.values().forEach(versionKeywords -> allWords.addAll(versionKeywords.keySet()));
+            var wordTable = new WordTable(allWords.toArray(new String[0]));
+
+            var firebirdSets = new TreeMap<BigDecimal, KeywordSet>();
+            firebirdKeywords.forEach(
+                    (version, versionKeywords) -> firebirdSets.put(version, toKeywordSet(wordTable, versionKeywords)));
+            var sqlSets = new TreeMap<Integer, KeywordSet>();
+            sqlKeywords.forEach(
+                    (version, versionKeywords) -> sqlSets.put(version, toKeywordSet(wordTable, versionKeywords)));
+            return new KeywordCatalog(wordTable, firebirdSets, sqlSets);
+        }
+
+        private static KeywordSet toKeywordSet(WordTable wordTable, Map<String, Boolean> versionKeywords) {
+            var keywords = new BitSet(wordTable.size());
+            var reserved = new BitSet(wordTable.size());
+            versionKeywords.forEach((word, isReserved) -> {
+                int index = wordTable.indexOf(word, 0, word.length());
+                keywords.set(index);
+                reserved.set(index, isReserved);
+            });
+            return new KeywordSet(wordTable, keywords, reserved);
+        }
+    }
+
+}
@@ -0,0 +1,47 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+/**
+ * Change of a word between the keywords of two versions (see {@link KeywordSet#forEachChange}).
+ *
+ * @param word
+ *         word (upper case)
+ * @param type
+ *         type of change
+ * @param reserved
+ *         reserved status in the target version, or in the source version for {@link Type#REMOVED}
+ */
+public record KeywordChange(String word, Type type, boolean reserved) {
+
+    public enum Type {
+        /**
+         * Keyword in the target version, but not in the source version.
+         */
+        ADDED("added"),
+        /**
+         * Keyword in the source version, but not in the target version.
+         */
+        REMOVED("removed"),
+        /**
+         * Non-reserved keyword in the source version, reserved in the target version.
+         */
+        NEWLY_RESERVED("newly reserved"),
+        /**
+         * Reserved in the source version, non-reserved keyword in the target version.
+         */
+        NEWLY_NON_RESERVED("newly non-reserved");
+
+        private final String label;
+
+        Type(String label) {
+            this.label = label;
+        }
+
+        /**
+         * @return description of the change for reports (eg {@code newly reserved})
+         */
+        public String label() {
+            return label;
+        }
+    }
+
+}
@@ -0,0 +1,298 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Version history of each word of a {@link KeywordCatalog}.
+ * <p>
+ * Each version has a bit (in ascending version order, Firebird and SQL standard versions separately), and each word
+ * has four bitmaps: the Firebird versions in which it is a keyword, the Firebird versions in which it is reserved,
+ * and the same for the SQL standard versions. Cross-version questions are bitwise operations on these bitmaps,
+ * for example the reserved words of Firebird 4.0 that are not reserved in SQL:2003:
+ * </p>
+ * <pre>
+ * long fb40 = history.firebirdBit(new BigDecimal("4.0"));
+ * long sql2003 = history.sqlBit(2003);
+ * List&lt;String&gt; words = history.select(
+ *         (fbKeyword, fbReserved, sqlKeyword, sqlReserved) -&gt; (fbReserved &amp; fb40) != 0
+ *                 &amp;&amp; (sqlReserved &amp; sql2003) == 0);
+ * </pre>
+ * <p>
+ * Instances are immutable.
+ * </p>
+ */
+@Slf4j
+public final class KeywordHistory {
+
+    private final WordTable wordTable;
+    private final List<BigDecimal> firebirdVersions;
+    private final List<Integer> sqlVersions;
+    private final long[] firebirdKeyword;
+    private final long[] firebirdReserved;
+    private final long[] sqlKeyword;
+    private final long[] sqlReserved;
+
+    private KeywordHistory(WordTable wordTable, List<BigDecimal> firebirdVersions, List<Integer> sqlVersions) {
+        this.wordTable = wordTable;
+        this.firebirdVersions = Collections.unmodifiableList(firebirdVersions);
+        this.sqlVersions = Collections.unmodifiableList(sqlVersions);
+        firebirdKeyword = new long[wordTable.size()];
+        firebirdReserved = new long[wordTable.size()];
+        sqlKeyword = new long[wordTable.size()];
+        sqlReserved = new long[wordTable.size()];
+    }
+
+    /**
+     * Creates the history of all words and versions of a catalog.
+     *
+     * @param catalog
+     *         keyword catalog
+     * @return history
+     * @throws KeywordProcessingException
+     *         if the catalog has more than 64 Firebird or more than 64 SQL standard versions
+     */
+    public static KeywordHistory of(KeywordCatalog catalog) throws KeywordProcessingException {
+        if (catalog.firebirdVersions().size() > Long.SIZE || catalog.sqlVersions().size() > Long.SIZE) {
+            throw new KeywordProcessingException("Keyword history supports at most " + Long.SIZE + " versions");
+        }
+        var history = new KeywordHistory(catalog.wordTable(), new ArrayList<>(catalog.firebirdVersions()),
+                new ArrayList<>(catalog.sqlVersions()));
+        for (int bit = 0; bit < history.firebirdVersions.size(); bit++) {
+            KeywordSet keywordSet = catalog.firebird(history.firebirdVersions.get(bit)).orElseThrow();
+            setBits(history.firebirdKeyword, keywordSet.keywords(), bit);
+            setBits(history.firebirdReserved, keywordSet.reserved(), bit);
+        }
+        for (int bit = 0; bit < history.sqlVersions.size(); bit++) {
+            KeywordSet keywordSet = catalog.sql(history.sqlVersions.get(bit)).orElseThrow();
+            setBits(history.sqlKeyword, keywordSet.keywords(), bit);
+            setBits(history.sqlReserved, keywordSet.reserved(), bit);
+        }
+        return history;
+    }
+
+    private static void setBits(long[] bitmaps, BitSet words, int bit) {
+        for (int index = words.nextSetBit(0); index >= 0; index = words.nextSetBit(index + 1)) {
+            bitmaps[index] |= 1L << bit;
+        }
+    }
+
+    /**
+     * @return Firebird versions in ascending order; the index of a version is its bit
+     */
+    public List<BigDecimal> firebirdVersions() {
+        return firebirdVersions;
+    }
+
+    /**
+     * @return SQL standard versions in ascending order; the index of a version is its bit
+     */
+    public List<Integer> sqlVersions() {
+        return sqlVersions;
+    }
+
+    /**
+     * @return bit of a Firebird version, or {@code 0} if the version is unknown
+     */
+    public long firebirdBit(BigDecimal firebirdVersion) {
+        for (int bit = 0; bit < firebirdVersions.size(); bit++) {
+            if (firebirdVersions.get(bit).compareTo(firebirdVersion) == 0) {
+                return 1L << bit;
+            }
+        }
+        return 0;
+    }
+
+    /**
+     * @return bit of a SQL standard version, or {@code 0} if the version is unknown
+     */
+    public long sqlBit(int sqlVersion) {
+        int bit = sqlVersions.indexOf(sqlVersion);
+        return bit == -1 ? 0 : 1L << bit;
+    }
+
+    /**
+     * @return bitmap of the Firebird versions in which {@code word} is a keyword ({@code 0} for unknown words)
+     */
+    public long firebirdKeyword(CharSequence word) {
+        int index = wordTable.indexOf(word, 0, word.length());
+        return index == -1 ? 0 : firebirdKeyword[index];
+    }
+
+    /**
+     * @return bitmap of the Firebird versions in which {@code word} is reserved ({@code 0} for unknown words)
+     */
+    public long firebirdReserved(CharSequence word) {
+        int index = wordTable.indexOf(word, 0, word.length());
+        return index == -1 ? 0 : firebirdReserved[index];
+    }
+
+    /**
+     * @return bitmap of the SQL standard versions in which {@code word} is a keyword ({@code 0} for unknown words)
+     */
+    public long sqlKeyword(CharSequence word) {
+        int index = wordTable.indexOf(word, 0, word.length());
+        return index == -1 ? 0 : sqlKeyword[index];
+    }
+
+    /**
+     * @return bitmap of the SQL standard versions in which {@code word} is reserved ({@code 0} for unknown words)
+     */
+    public long sqlReserved(CharSequence word) {
+        int index = wordTable.indexOf(word, 0, word.length());
+        return index == -1 ? 0 : sqlReserved[index];
+    }
+
+    /**
+     * Determines since which Firebird version a word is reserved without interruption.
+     *
+     * @param word
+     *         word
+     * @return first Firebird version from which the word is reserved in all later versions, or empty if the word is
+     * not reserved in the latest version
+     */
+    public Optional<BigDecimal> firebirdReservedSince(CharSequence word) {
+        long notReserved = ~firebirdReserved(word) & allBits(firebirdVersions.size());
+        int latestBit = firebirdVersions.size() - 1;
+        if (latestBit < 0 || (notReserved & (1L << latestBit)) != 0) {
+            return Optional.empty();
+        }
+        // highest version in which it is not reserved, the next version is the start of the current run
+        int sinceBit = Long.SIZE - Long.numberOfLeadingZeros(notReserved);
+        return Optional.of(firebirdVersions.get(sinceBit));
+    }
+
+    /**
+     * @param versions
+     *         versions as a list of bits
+     * @param bitmap
+     *         bitmap of versions
+     * @return the versions of the bitmap, in ascending order
+     */
+    public static <V> List<V> versions(List<V> versions, long bitmap) {
+        var result = new ArrayList<V>(Long.bitCount(bitmap));
+        for (long remaining = bitmap; remaining != 0; remaining &= remaining - 1) {
+            result.add(versions.get(Long.numberOfTrailingZeros(remaining)));
+        }
+        return result;
+    }
+
+    /**
+     * Selects words by their bitmaps.
+     *
+     * @param filter
+     *         filter on the bitmaps of a word
+     * @return matching words, sorted
+     */
+    public List<String> select(WordFilter filter) {
+        var words = new ArrayList<String>();
+        for (int index = 0; index < wordTable.size(); index++) {
+            if (filter.test(firebirdKeyword[index], firebirdReserved[index], sqlKeyword[index], sqlReserved[index])) {
+                words.add(wordTable.word(index));
+            }
+        }
+        return words;
+    }
+
+    /**
+     * @return reserved words of the Firebird version that are not reserved in the SQL standard version, sorted
+     */
+    public List<String> nonStandardReservedWords(BigDecimal firebirdVersion, int sqlVersion) {
+        long firebirdBit = firebirdBit(firebirdVersion);
+        long sqlBit = sqlBit(sqlVersion);
+        return select((fbKeyword, fbReserved, sqlKeyword, sqlReserved) ->
+                (fbReserved & firebirdBit) != 0 && (sqlReserved & sqlBit) == 0);
+    }
+
+    /**
+     * Replaces the contents of tables {@code KEYWORD_HISTORY_VERSION} and {@code KEYWORD_HISTORY} with this history.
+     *
+     * @param dataSource
+     *         data source of the keywords database
+     * @throws KeywordProcessingException
+     *         for data-access errors
+     */
+    public void write(DataSource dataSource) throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try {
+                try (Statement statement = connection.createStatement()) {
+                    statement.executeUpdate("delete from KEYWORD_HISTORY");
+                    statement.executeUpdate("delete from KEYWORD_HISTORY_VERSION");
+                }
+                writeVersions(connection);
+                writeWords(connection);
+                connection.commit();
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+        log.info("Wrote keyword history of {} words", wordTable.size());
+    }
+
+    private void writeVersions(Connection connection) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "insert into KEYWORD_HISTORY_VERSION (VERSION_TYPE, VERSION, VERSION_BIT) values (?, ?, ?)")) {
+            for (int bit = 0; bit < firebirdVersions.size(); bit++) {
+                pstmt.setString(1, "FB");
+                pstmt.setBigDecimal(2, firebirdVersions.get(bit));
+                pstmt.setLong(3, 1L << bit);
+                pstmt.addBatch();
+            }
+            for (int bit = 0; bit < sqlVersions.size(); bit++) {
+                pstmt.setString(1, "SQL");
+                pstmt.setBigDecimal(2, BigDecimal.valueOf(sqlVersions.get(bit)));
+                pstmt.setLong(3, 1L << bit);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private void writeWords(Connection connection) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement("""
+                insert into KEYWORD_HISTORY
+                  (WORD, FB_KEYWORD_VERSIONS, FB_RESERVED_VERSIONS, SQL_KEYWORD_VERSIONS, SQL_RESERVED_VERSIONS)
+                values (?, ?, ?, ?, ?)""")) {
+            for (int index = 0; index < wordTable.size(); index++) {
+                pstmt.setString(1, wordTable.word(index));
+                pstmt.setLong(2, firebirdKeyword[index]);
+                pstmt.setLong(3, firebirdReserved[index]);
+                pstmt.setLong(4, sqlKeyword[index]);
+                pstmt.setLong(5, sqlReserved[index]);
+                pstmt.addBatch();
+            }
+            pstmt.executeBatch();
+        }
+    }
+
+    private static long allBits(int count) {
+        return count == Long.SIZE ? -1L : (1L << count) - 1;
+    }
+
+    /**
+     * Filter on the version bitmaps of a word.
+     */
+    @FunctionalInterface
+    public interface WordFilter {
+
+        boolean test(long firebirdKeyword, long firebirdReserved, long sqlKeyword, long sqlReserved);
+
+    }
+
+}
@@ -0,0 +1,46 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+/**
+ * Case-insensitive lookup of the keywords of a single Firebird or SQL standard version.
+ * <p>
+ * Implementations do not allocate on lookup.
+ * </p>
+ */
+public interface KeywordLookup {
+
+    default boolean isKeyword(CharSequence word) {
+        return isKeyword(word, 0, word.length());
+    }
+
+    /**
+     * @param chars
+     *         characters containing the word
+     * @param start
+     *         start of the word (inclusive)
+     * @param end
+     *         end of the word (exclusive)
+     * @return {@code true} if the word is a (reserved or non-reserved) keyword in this version
+     */
+    boolean isKeyword(CharSequence chars, int start, int end);
+
+    default boolean isReserved(CharSequence word) {
+        return isReserved(word, 0, word.length());
+    }
+
+    /**
+     * @param chars
+     *         characters containing the word
+     * @param start
+     *         start of the word (inclusive)
+     * @param end
+     *         end of the word (exclusive)
+     * @return {@code true} if the word is a reserved word in this version
+     */
+    boolean isReserved(CharSequence chars, int start, int end);
+
+    /**
+     * @return number of keywords (reserved and non-reserved) in this version
+     */
+    int size();
+
+}
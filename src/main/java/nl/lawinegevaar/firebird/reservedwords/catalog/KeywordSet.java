@@ -0,0 +1,109 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+import java.util.BitSet;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * Keywords of a single Firebird or SQL standard version.
+ * <p>
+ * Lookups are case-insensitive and do not allocate.
+ * </p>
+ */
+public final class KeywordSet implements KeywordLookup {
+
+    private final WordTable wordTable;
+    private final BitSet keywords;
+    private final BitSet reserved;
+
+    KeywordSet(WordTable wordTable, BitSet keywords, BitSet reserved) {
+        this.wordTable = wordTable;
+        this.keywords = keywords;
+        this.reserved = reserved;
+    }
+
+    @Override
+    public boolean isKeyword(CharSequence chars, int start, int end) {
+        int index = wordTable.indexOf(chars, start, end);
+        return index != -1 && keywords.get(index);
+    }
+
+    @Override
+    public boolean isReserved(CharSequence chars, int start, int end) {
+        int index = wordTable.indexOf(chars, start, end);
+        return index != -1 && reserved.get(index);
+    }
+
+    @Override
+    public int size() {
+        return keywords.cardinality();
+    }
+
+    /**
+     * @param consumer
+     *         receives each keyword of this version and its reserved status, in word order
+     */
+    public void forEachKeyword(BiConsumer<String, Boolean> consumer) {
+        for (int index = keywords.nextSetBit(0); index >= 0; index = keywords.nextSetBit(index + 1)) {
+            consumer.accept(wordTable.word(index), reserved.get(index));
+        }
+    }
+
+    /**
+     * Reports the changes from this version to {@code target}, in word order.
+     * <p>
+     * Both sets index the same sorted word table, so this is a single merge-join over the keyword bits of the two
+     * versions, without lookups.
+     * </p>
+     *
+     * @param target
+     *         keywords of the target version; must be from the same catalog
+     * @param consumer
+     *         receives the changes
+     * @throws IllegalArgumentException
+     *         if {@code target} is from a different catalog
+     */
+    public void forEachChange(KeywordSet target, Consumer<? super KeywordChange> consumer) {
+        if (target.wordTable != wordTable) {
+            throw new IllegalArgumentException("target must be from the same catalog");
+        }
+        BitSet targetKeywords = target.keywords;
+        int index = keywords.nextSetBit(0);
+        int targetIndex = targetKeywords.nextSetBit(0);
+        while (index >= 0 || targetIndex >= 0) {
+            if (targetIndex < 0 || index >= 0 && index < targetIndex) {
+                consumer.accept(
+                        new KeywordChange(wordTable.word(index), KeywordChange.Type.REMOVED, reserved.get(index)));
+                index = keywords.nextSetBit(index + 1);
+            } else if (index < 0 || targetIndex < index) {
+                consumer.accept(new KeywordChange(wordTable.word(targetIndex), KeywordChange.Type.ADDED,
+                        target.reserved.get(targetIndex)));
+                targetIndex = targetKeywords.nextSetBit(targetIndex + 1);
+            } else {
+                boolean targetReserved = target.reserved.get(index);
+                if (reserved.get(index) != targetReserved) {
+                    consumer.accept(new KeywordChange(wordTable.word(index), targetReserved
+                            ? KeywordChange.Type.NEWLY_RESERVED
+                            : KeywordChange.Type.NEWLY_NON_RESERVED, targetReserved));
+                }
+                index = keywords.nextSetBit(index + 1);
+                targetIndex = targetKeywords.nextSetBit(targetIndex + 1);
+            }
+        }
+    }
+
+    /**
+     * @return keywords of this version, as indexes into the word table of the catalog
+     */
+    BitSet keywords() {
+        return keywords;
+    }
+
+    /**
+     * @return reserved words of this version, as indexes into the word table of the catalog
+     */
+    BitSet reserved() {
+        return reserved;
+    }
+
+}
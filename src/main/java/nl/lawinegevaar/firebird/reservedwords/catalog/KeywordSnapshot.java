@@ -0,0 +1,358 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Keyword catalog in a memory-mapped binary snapshot file.
+ * <p>
+ * Opening a snapshot only reads the header and version table; lookups run directly against the mapped file, so there
+ * is no deserialization step. Snapshots are written from a {@link KeywordCatalog} with
+ * {@link #write(KeywordCatalog, Path)}.
+ * </p>
+ * <p>
+ * Format (big-endian; format version 1):
+ * </p>
+ * <pre>
+ * header       magic "FBKW", format version, word count, Firebird version count, SQL version count,
+ *              string data length (6 x int)
+ * versions     per Firebird version: unscaled value (int) and scale (int); per SQL version: version (int)
+ * offsets      (word count + 1) x int, start of each word in the string data
+ * string data  sorted, upper case words (ISO-8859-1), padded to a multiple of 8 bytes
+ * bitsets      per version (Firebird versions first): keywords and reserved words, each (word count + 63) / 64 x long;
+ *              bit i of the bitset is bit (i % 64) of long (i / 64)
+ * </pre>
+ */
+@Slf4j
+public final class KeywordSnapshot {
+
+    private static final int MAGIC = 0x46424B57; // FBKW
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 6 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int wordCount;
+    private final int offsetsStart;
+    private final int stringDataStart;
+    private final NavigableMap<BigDecimal, KeywordLookup> firebirdKeywords;
+    private final NavigableMap<Integer, KeywordLookup> sqlKeywords;
+
+    private KeywordSnapshot(ByteBuffer buffer) {
+        this.buffer = buffer;
+        if (buffer.limit() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new KeywordProcessingException("Not a keyword snapshot file");
+        }
+        int formatVersion = buffer.getInt(4);
+        if (formatVersion != FORMAT_VERSION) {
+            throw new KeywordProcessingException("Unsupported keyword snapshot format version " + formatVersion);
+        }
+        wordCount = buffer.getInt(8);
+        int firebirdVersionCount = buffer.getInt(12);
+        int sqlVersionCount = buffer.getInt(16);
+        int stringDataLength = buffer.getInt(20);
+        if (wordCount < 0 || firebirdVersionCount < 0 || sqlVersionCount < 0 || stringDataLength < 0) {
+            throw corrupt();
+        }
+        // computed in long: the counts of a corrupt file can overflow int
+        long bitsetSize = (wordCount + 63L) / 64 * Long.BYTES;
+        long offsets;
+        long stringData;
+        long bitsets;
+        try {
+            offsets = Math.addExact(HEADER_SIZE, Math.addExact(
+                    Math.multiplyExact(firebirdVersionCount, 2L * Integer.BYTES),
+                    Math.multiplyExact(sqlVersionCount, (long) Integer.BYTES)));
+            stringData = Math.addExact(offsets, Math.multiplyExact(wordCount + 1L, Integer.BYTES));
+            bitsets = Math.addExact(stringData, (stringDataLength + 7L) & ~7L);
+            long end = Math.addExact(bitsets, Math.multiplyExact(
+                    Math.addExact((long) firebirdVersionCount, sqlVersionCount), 2 * bitsetSize));
+            if (end != buffer.limit()) {
+                throw corrupt();
+            }
+        } catch (ArithmeticException e) {
+            throw corrupt();
+        }
+        // all positions are within the buffer, so they fit in an int
+        offsetsStart = (int) offsets;
+        stringDataStart = (int) stringData;
+        int bitsetsStart = (int) bitsets;
+        checkOffsets(stringDataLength);
+
+        int position = HEADER_SIZE;
+        int bitsetPosition = bitsetsStart;
+        var firebirdKeywords = new TreeMap<BigDecimal, KeywordLookup>();
+        for (int idx = 0; idx < firebirdVersionCount; idx++) {
+            var version = new BigDecimal(BigInteger.valueOf(buffer.getInt(position)), buffer.getInt(position + 4));
+            position += 2 * Integer.BYTES;
+            firebirdKeywords.put(version, new SnapshotKeywords(bitsetPosition, bitsetPosition + (int) bitsetSize));
+            bitsetPosition += 2 * (int) bitsetSize;
+        }
+        var sqlKeywords = new TreeMap<Integer, KeywordLookup>();
+        for (int idx = 0; idx < sqlVersionCount; idx++) {
+            sqlKeywords.put(buffer.getInt(position),
+                    new SnapshotKeywords(bitsetPosition, bitsetPosition + (int) bitsetSize));
+            position += Integer.BYTES;
+            bitsetPosition += 2 * (int) bitsetSize;
+        }
+        this.firebirdKeywords = Collections.unmodifiableNavigableMap(firebirdKeywords);
+        this.sqlKeywords = Collections.unmodifiableNavigableMap(sqlKeywords);
+    }
+
+    /**
+     * Checks that the word offsets start at {@code 0}, do not decrease, and end at the end of the string data, so
+     * lookups never read outside the string data.
+     */
+    private void checkOffsets(int stringDataLength) {
+        int previous = 0;
+        for (int index = 0; index <= wordCount; index++) {
+            int offset = buffer.getInt(offsetsStart + index * Integer.BYTES);
+            if (index == 0 ? offset != 0 : offset < previous) {
+                throw corrupt();
+            }
+            previous = offset;
+        }
+        if (previous != stringDataLength) {
+            throw corrupt();
+        }
+    }
+
+    private static KeywordProcessingException corrupt() {
+        return new KeywordProcessingException("Keyword snapshot file is truncated or corrupt");
+    }
+
+    public Optional<KeywordLookup> firebird(BigDecimal firebirdVersion) {
+        return Optional.ofNullable(firebirdKeywords.get(firebirdVersion));
+    }
+
+    public Optional<KeywordLookup> sql(int sqlVersion) {
+        return Optional.ofNullable(sqlKeywords.get(sqlVersion));
+    }
+
+    public NavigableSet<BigDecimal> firebirdVersions() {
+        return firebirdKeywords.navigableKeySet();
+    }
+
+    public NavigableSet<Integer> sqlVersions() {
+        return sqlKeywords.navigableKeySet();
+    }
+
+    /**
+     * @return number of distinct words over all versions
+     */
+    public int wordCount() {
+        return wordCount;
+    }
+
+    /**
+     * Opens a snapshot file.
+     *
+     * @param snapshotFile
+     *         path of the snapshot file
+     * @return snapshot
+     * @throws KeywordProcessingException
+     *         if the file could not be read, or is not a valid snapshot
+     */
+    public static KeywordSnapshot open(Path snapshotFile) throws KeywordProcessingException {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new KeywordProcessingException("Not a keyword snapshot file");
+            }
+            return new KeywordSnapshot(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Snapshot file not found or other IO error", e);
+        }
+    }
+
+    /**
+     * Writes a catalog to a snapshot file, replacing the file atomically if it exists.
+     *
+     * @param catalog
+     *         catalog
+     * @param snapshotFile
+     *         path of the snapshot file
+     * @throws KeywordProcessingException
+     *         if the file could not be written
+     */
+    public static void write(KeywordCatalog catalog, Path snapshotFile) throws KeywordProcessingException {
+        ByteBuffer contents = toBytes(catalog);
+        Path directory = snapshotFile.toAbsolutePath().getParent();
+        try {
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(tempFile)) {
+                    out.write(contents.array());
+                }
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING,
+                        StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not write snapshot file " + snapshotFile, e);
+        }
+        log.info("Wrote keyword snapshot with {} words to {} ({} bytes)", catalog.wordCount(), snapshotFile,
+                contents.capacity());
+    }
+
+    private static ByteBuffer toBytes(KeywordCatalog catalog) {
+        WordTable wordTable = catalog.wordTable();
+        int wordCount = wordTable.size();
+        var wordBytes = new byte[wordCount][];
+        int stringDataLength = 0;
+        for (int idx = 0; idx < wordCount; idx++) {
+            String word = wordTable.word(idx);
+            if (!StandardCharsets.ISO_8859_1.newEncoder().canEncode(word)) {
+                throw new KeywordProcessingException("Word cannot be stored in a snapshot: " + word);
+            }
+            wordBytes[idx] = word.getBytes(StandardCharsets.ISO_8859_1);
+            stringDataLength += wordBytes[idx].length;
+        }
+        int firebirdVersionCount = catalog.firebirdVersions().size();
+        int sqlVersionCount = catalog.sqlVersions().size();
+        int bitsetLongs = bitsetLongs(wordCount);
+        int size = HEADER_SIZE + firebirdVersionCount * 2 * Integer.BYTES + sqlVersionCount * Integer.BYTES
+                + (wordCount + 1) * Integer.BYTES + padToLong(stringDataLength)
+                + (firebirdVersionCount + sqlVersionCount) * 2 * bitsetLongs * Long.BYTES;
+
+        ByteBuffer buffer = ByteBuffer.allocate(size)
+                .putInt(MAGIC)
+                .putInt(FORMAT_VERSION)
+                .putInt(wordCount)
+                .putInt(firebirdVersionCount)
+                .putInt(sqlVersionCount)
+                .putInt(stringDataLength);
+        for (BigDecimal firebirdVersion : catalog.firebirdVersions()) {
+            buffer.putInt(firebirdVersion.unscaledValue().intValueExact()).putInt(firebirdVersion.scale());
+        }
+        catalog.sqlVersions().forEach(buffer::putInt);
+        int offset = 0;
+        for (byte[] word : wordBytes) {
+            buffer.putInt(offset);
+            offset += word.length;
+        }
+        buffer.putInt(offset);
+        for (byte[] word : wordBytes) {
+            buffer.put(word);
+        }
+        buffer.position(buffer.position() + padToLong(stringDataLength) - stringDataLength);
+        for (BigDecimal firebirdVersion : catalog.firebirdVersions()) {
+            putBitsets(buffer, catalog.firebird(firebirdVersion).orElseThrow(), bitsetLongs);
+        }
+        for (int sqlVersion : catalog.sqlVersions()) {
+            putBitsets(buffer, catalog.sql(sqlVersion).orElseThrow(), bitsetLongs);
+        }
+        return buffer;
+    }
+
+    private static void putBitsets(ByteBuffer buffer, KeywordSet keywordSet, int bitsetLongs) {
+        putBitset(buffer, keywordSet.keywords(), bitsetLongs);
+        putBitset(buffer, keywordSet.reserved(), bitsetLongs);
+    }
+
+    private static void putBitset(ByteBuffer buffer, BitSet bitSet, int bitsetLongs) {
+        long[] longs = bitSet.toLongArray();
+        for (int idx = 0; idx < bitsetLongs; idx++) {
+            buffer.putLong(idx < longs.length ? longs[idx] : 0L);
+        }
+    }
+
+    private static int bitsetLongs(int wordCount) {
+        return (wordCount + 63) / 64;
+    }
+
+    private static int padToLong(int length) {
+        return (length + 7) & ~7;
+    }
+
+    /**
+     * Binary search for a word in the string table, ignoring case.
+     *
+     * @return index of the word, or {@code -1} if not in the snapshot
+     */
+    private int indexOf(CharSequence chars, int start, int end) {
+        int low = 0;
+        int high = wordCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = compareWord(mid, chars, start, end);
+            if (comparison < 0) {
+                low = mid + 1;
+            } else if (comparison > 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    private int compareWord(int index, CharSequence chars, int start, int end) {
+        int wordStart = stringDataStart + buffer.getInt(offsetsStart + index * Integer.BYTES);
+        int wordEnd = stringDataStart + buffer.getInt(offsetsStart + (index + 1) * Integer.BYTES);
+        int length = Math.min(wordEnd - wordStart, end - start);
+        for (int idx = 0; idx < length; idx++) {
+            int wordChar = buffer.get(wordStart + idx) & 0xFF;
+            int otherChar = WordTable.toUpperAscii(chars.charAt(start + idx));
+            if (wordChar != otherChar) {
+                return wordChar - otherChar;
+            }
+        }
+        return (wordEnd - wordStart) - (end - start);
+    }
+
+    private boolean isSet(int bitsetPosition, int index) {
+        return (buffer.getLong(bitsetPosition + (index >>> 6) * Long.BYTES) & (1L << index)) != 0;
+    }
+
+    private final class SnapshotKeywords implements KeywordLookup {
+
+        private final int keywordsPosition;
+        private final int reservedPosition;
+
+        private SnapshotKeywords(int keywordsPosition, int reservedPosition) {
+            this.keywordsPosition = keywordsPosition;
+            this.reservedPosition = reservedPosition;
+        }
+
+        @Override
+        public boolean isKeyword(CharSequence chars, int start, int end) {
+            int index = indexOf(chars, start, end);
+            return index != -1 && isSet(keywordsPosition, index);
+        }
+
+        @Override
+        public boolean isReserved(CharSequence chars, int start, int end) {
+            int index = indexOf(chars, start, end);
+            return index != -1 && isSet(reservedPosition, index);
+        }
+
+        @Override
+        public int size() {
+            int size = 0;
+            for (int idx = 0; idx < bitsetLongs(wordCount); idx++) {
+                size += Long.bitCount(buffer.getLong(keywordsPosition + idx * Long.BYTES));
+            }
+            return size;
+        }
+    }
+
+}
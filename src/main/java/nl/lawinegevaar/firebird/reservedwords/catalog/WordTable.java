@@ -0,0 +1,106 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+/**
+ * Immutable table of keywords, sorted and with a case-insensitive hash index.
+ * <p>
+ * Words are stored in upper case. Lookups fold ASCII letters to upper case while hashing and comparing, so they don't
+ * need to allocate. Non-ASCII characters never match, as all keywords are plain ASCII.
+ * </p>
+ */
+final class WordTable {
+
+    private final String[] words;
+    // open addressing, slot value is word index + 1, 0 is empty
+    private final int[] slots;
+    private final int mask;
+
+    /**
+     * @param words
+     *         sorted, distinct, upper case words
+     */
+    WordTable(String[] words) {
+        this.words = words;
+        int capacity = Integer.highestOneBit(Math.max(words.length, 1) * 4 - 1) << 1;
+        slots = new int[capacity];
+        mask = capacity - 1;
+        for (int index = 0; index < words.length; index++) {
+            String word = words[index];
+            int slot = hash(word, 0, word.length()) & mask;
+            while (slots[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            slots[slot] = index + 1;
+        }
+    }
+
+    int size() {
+        return words.length;
+    }
+
+    String word(int index) {
+        return words[index];
+    }
+
+    /**
+     * Finds the index of a word, ignoring case.
+     *
+     * @param chars
+     *         characters containing the word
+     * @param start
+     *         start of the word (inclusive)
+     * @param end
+     *         end of the word (exclusive)
+     * @return index of the word, or {@code -1} if not in this table
+     */
+    int indexOf(CharSequence chars, int start, int end) {
+        int slot = hash(chars, start, end) & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (equalsIgnoreCase(words[entry - 1], chars, start, end)) {
+                return entry - 1;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    static int hash(CharSequence chars, int start, int end) {
+        int hash = 0x811c9dc5;
+        for (int idx = start; idx < end; idx++) {
+            hash = (hash ^ toUpperAscii(chars.charAt(idx))) * 0x01000193;
+        }
+        return hash ^ (hash >>> 16);
+    }
+
+    private static boolean equalsIgnoreCase(String word, CharSequence chars, int start, int end) {
+        int length = word.length();
+        if (length != end - start) {
+            return false;
+        }
+        for (int idx = 0; idx < length; idx++) {
+            if (word.charAt(idx) != toUpperAscii(chars.charAt(start + idx))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    static char toUpperAscii(char c) {
+        return c >= 'a' && c <= 'z' ? (char) (c - ('a' - 'A')) : c;
+    }
+
+    static String toUpperAscii(String word) {
+        for (int idx = 0; idx < word.length(); idx++) {
+            char c = word.charAt(idx);
+            if (c >= 'a' && c <= 'z') {
+                char[] chars = word.toCharArray();
+                for (int idx2 = idx; idx2 < chars.length; idx2++) {
+                    chars[idx2] = toUpperAscii(chars[idx2]);
+                }
+                return new String(chars);
+            }
+        }
+        return word;
+    }
+
+}
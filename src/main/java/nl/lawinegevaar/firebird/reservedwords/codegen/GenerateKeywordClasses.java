@@ -0,0 +1,157 @@
+package nl.lawinegevaar.firebird.reservedwords.codegen;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.ImportOptions;
+import nl.lawinegevaar.firebird.reservedwords.InMemoryKeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.KeywordManifest;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.fb.FirebirdKeywordSources;
+import nl.lawinegevaar.firebird.reservedwords.fb.PopulateFbKeywords;
+import nl.lawinegevaar.firebird.reservedwords.sql.PopulateSqlKeywords;
+import nl.lawinegevaar.firebird.reservedwords.sql.SqlKeywordSources;
+import org.apache.commons.cli.*;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Generates a Java class with the keywords of each Firebird and SQL standard version in a manifest (see
+ * {@link KeywordManifest}), for use without the keywords database.
+ * <p>
+ * The input files are resolved with the same pipeline as {@code PopulateAllKeywords}, into an in-memory store. Each
+ * generated class has static {@code isKeyword(CharSequence)} and {@code isReserved(CharSequence)} methods backed by a
+ * minimal perfect hash. The Firebird classes also have a {@code SQL_KEYWORDS} constant with the keywords that are not
+ * SQL:2003 keywords, as returned by {@link java.sql.DatabaseMetaData#getSQLKeywords()}.
+ * </p>
+ */
+@Slf4j
+public class GenerateKeywordClasses {
+
+    private static final String DEFAULT_MANIFEST = "keywords/manifest.properties";
+    private static final String DEFAULT_PACKAGE = "nl.lawinegevaar.firebird.reservedwords.generated";
+    private static final int SQL_KEYWORDS_STANDARD = 2003;
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        if (!commandLine.hasOption("o")) {
+            System.err.println("Invalid command line: option -o or --output-dir is required");
+            printUsage();
+            System.exit(-1);
+        }
+        KeywordManifest manifest = KeywordManifest.read(Path.of(commandLine.getOptionValue("m", DEFAULT_MANIFEST)));
+        Path outputDirectory = Path.of(commandLine.getOptionValue("o"));
+        String packageName = commandLine.getOptionValue("p", DEFAULT_PACKAGE);
+
+        int classCount = generate(manifest, outputDirectory, packageName);
+        System.out.printf("Generated %d keyword classes in %s%n", classCount, outputDirectory);
+    }
+
+    /**
+     * Generates the keyword classes of all versions in a manifest.
+     *
+     * @param manifest
+     *         manifest
+     * @param outputDirectory
+     *         root directory of the generated sources
+     * @param packageName
+     *         package of the generated classes
+     * @return number of generated classes
+     * @throws KeywordProcessingException
+     *         for errors reading the input files or writing the generated sources
+     */
+    public static int generate(KeywordManifest manifest, Path outputDirectory, String packageName)
+            throws KeywordProcessingException {
+        var firebirdStore = new InMemoryKeywordStore<BigDecimal>();
+        for (FirebirdKeywordSources sources : manifest.firebirdSources()) {
+            PopulateFbKeywords.populate(firebirdStore, sources, ImportOptions.DEFAULT);
+        }
+        var sqlStore = new InMemoryKeywordStore<Integer>();
+        for (SqlKeywordSources sources : manifest.sqlSources()) {
+            PopulateSqlKeywords.populate(sqlStore, sources, ImportOptions.DEFAULT);
+        }
+
+        Set<String> standardKeywords = sqlStore.readKeywords(SQL_KEYWORDS_STANDARD).keySet();
+        if (standardKeywords.isEmpty()) {
+            log.warn("No SQL:{} keywords in manifest; SQL_KEYWORDS will contain all keywords",
+                    SQL_KEYWORDS_STANDARD);
+        }
+        int classCount = 0;
+        for (BigDecimal firebirdVersion : firebirdStore.versions()) {
+            Map<String, Boolean> keywords = upperCase(firebirdStore.readKeywords(firebirdVersion));
+            var sqlKeywords = new TreeSet<>(keywords.keySet());
+            sqlKeywords.removeAll(standardKeywords);
+            writeClass(outputDirectory, packageName, "Firebird" + firebirdVersion.toPlainString().replace(".", ""),
+                    "Firebird " + firebirdVersion.toPlainString(), keywords, String.join(",", sqlKeywords));
+            classCount++;
+        }
+        for (Integer sqlVersion : sqlStore.versions()) {
+            writeClass(outputDirectory, packageName, "Sql" + sqlVersion, "SQL:" + sqlVersion,
+                    upperCase(sqlStore.readKeywords(sqlVersion)), null);
+            classCount++;
+        }
+        return classCount;
+    }
+
+    private static void writeClass(Path outputDirectory, String packageName, String baseName, String description,
+            Map<String, Boolean> keywords, String sqlKeywords) {
+        Path file = new KeywordClassWriter(packageName, baseName + "Keywords", description)
+                .write(outputDirectory, keywords, sqlKeywords);
+        log.info("Generated {} with {} keywords", file, keywords.size());
+    }
+
+    private static Map<String, Boolean> upperCase(Map<String, Boolean> keywords) {
+        var upperCaseKeywords = new TreeMap<String, Boolean>();
+        keywords.forEach((word, reserved) -> upperCaseKeywords.put(word.toUpperCase(Locale.ROOT), reserved));
+        return upperCaseKeywords;
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("GenerateKeywordClasses", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder("m")
+                        .longOpt("manifest")
+                        .hasArg().argName("FILENAME")
+                        .desc("Manifest with the input files of all versions (default " + DEFAULT_MANIFEST + ")")
+                        .build())
+                .addOption(Option.builder("o")
+                        .longOpt("output-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Root directory of the generated sources; required")
+                        .build())
+                .addOption(Option.builder("p")
+                        .longOpt("package")
+                        .hasArg().argName("PACKAGE")
+                        .desc("Package of the generated classes (default " + DEFAULT_PACKAGE + ")")
+                        .build());
+    }
+
+}
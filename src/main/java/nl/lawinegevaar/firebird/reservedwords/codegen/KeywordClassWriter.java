@@ -0,0 +1,234 @@
+package nl.lawinegevaar.firebird.reservedwords.codegen;
+
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Writes the Java source of a class with the keywords of a single Firebird or SQL standard version.
+ * <p>
+ * The generated class has no dependencies; it contains the words in the order of a {@link PerfectHash}, the
+ * displacements of that hash, and a bitset of the reserved words.
+ * </p>
+ */
+final class KeywordClassWriter {
+
+    private static final int MAX_LINE_LENGTH = 120;
+    private static final String INDENT = "            ";
+
+    private final String packageName;
+    private final String className;
+    private final String description;
+
+    /**
+     * @param packageName
+     *         package of the generated class
+     * @param className
+     *         simple name of the generated class
+     * @param description
+     *         description of the version (eg {@code Firebird 5.0})
+     */
+    KeywordClassWriter(String packageName, String className, String description) {
+        this.packageName = packageName;
+        this.className = className;
+        this.description = description;
+    }
+
+    /**
+     * Writes the class to its package directory below {@code outputDirectory}.
+     *
+     * @param outputDirectory
+     *         root directory of the generated sources
+     * @param keywords
+     *         upper case keywords with their reserved status
+     * @param sqlKeywords
+     *         value of the {@code SQL_KEYWORDS} constant, or {@code null} to not generate that constant
+     * @return path of the written file
+     * @throws KeywordProcessingException
+     *         for errors writing the file
+     */
+    Path write(Path outputDirectory, Map<String, Boolean> keywords, String sqlKeywords)
+            throws KeywordProcessingException {
+        // a version without keywords has no perfect hash; its class has empty tables
+        PerfectHash perfectHash = keywords.isEmpty() ? null : PerfectHash.build(new ArrayList<>(keywords.keySet()));
+        String[] words = perfectHash != null ? perfectHash.slots() : new String[0];
+        int[] displacements = perfectHash != null ? perfectHash.displacements() : new int[0];
+        var reserved = new long[(words.length + 63) / 64];
+        for (int index = 0; index < words.length; index++) {
+            if (Boolean.TRUE.equals(keywords.get(words[index]))) {
+                reserved[index >>> 6] |= 1L << index;
+            }
+        }
+
+        var source = new StringBuilder(16 * 1024);
+        source.append("package ").append(packageName).append(";\n\n")
+                .append("/**\n")
+                .append(" * Keywords of ").append(description).append(".\n")
+                .append(" * <p>\n")
+                .append(" * Lookups are case-insensitive and use a minimal perfect hash; they do not allocate.\n")
+                .append(" * </p>\n")
+                .append(" * <p>\n")
+                .append(" * Generated by {@code ").append(GenerateKeywordClasses.class.getName())
+                .append("}; do not edit.\n")
+                .append(" * </p>\n")
+                .append(" */\n")
+                .append("public final class ").append(className).append(" {\n\n");
+        if (sqlKeywords != null) {
+            source.append("""
+                        /**
+                         * Keywords of this version that are not SQL:2003 keywords, comma-separated, as returned by
+                         * {@link java.sql.DatabaseMetaData#getSQLKeywords()}.
+                         */
+                        public static final String SQL_KEYWORDS =
+                    """);
+            appendStringLiteral(source, sqlKeywords);
+            source.append(";\n\n");
+        }
+        source.append("    private static final String[] WORDS = {\n");
+        appendValues(source, List.of(words), KeywordClassWriter::toStringLiteral);
+        source.append("    };\n\n")
+                .append("    private static final int[] DISPLACEMENTS = {\n");
+        appendValues(source, boxed(displacements), String::valueOf);
+        source.append("    };\n\n")
+                .append("    private static final long[] RESERVED = {\n");
+        appendValues(source, boxed(reserved), value -> "0x" + Long.toHexString(value) + "L");
+        source.append("    };\n\n")
+                .append("    private ").append(className).append("() {\n")
+                .append("        // no instances\n")
+                .append("    }\n\n")
+                .append("""
+                            /**
+                             * @return number of keywords (reserved and non-reserved)
+                             */
+                            public static int size() {
+                                return WORDS.length;
+                            }
+
+                            /**
+                             * @return {@code true} if the word is a (reserved or non-reserved) keyword
+                             */
+                            public static boolean isKeyword(CharSequence word) {
+                                return indexOf(word) != -1;
+                            }
+
+                            /**
+                             * @return {@code true} if the word is a reserved word
+                             */
+                            public static boolean isReserved(CharSequence word) {
+                                int index = indexOf(word);
+                                return index != -1 && (RESERVED[index >>> 6] & (1L << index)) != 0;
+                            }
+
+                            private static int indexOf(CharSequence word) {
+                                if (WORDS.length == 0) {
+                                    return -1;
+                                }
+                                int bucket = Integer.remainderUnsigned(hash(0, word), DISPLACEMENTS.length);
+                                int index = Integer.remainderUnsigned(hash(DISPLACEMENTS[bucket], word), WORDS.length);
+                                String candidate = WORDS[index];
+                                int length = candidate.length();
+                                if (length != word.length()) {
+                                    return -1;
+                                }
+                                for (int idx = 0; idx < length; idx++) {
+                                    char c = word.charAt(idx);
+                                    if (candidate.charAt(idx) != (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c)) {
+                                        return -1;
+                                    }
+                                }
+                                return index;
+                            }
+
+                        """)
+                .append(PerfectHash.HASH_SOURCE)
+                .append("\n}\n");
+
+        Path file = outputDirectory.resolve(packageName.replace('.', '/')).resolve(className + ".java");
+        try {
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not write generated source " + file, e);
+        }
+        return file;
+    }
+
+    private static void appendStringLiteral(StringBuilder source, String value) {
+        var line = new StringBuilder();
+        List<String> parts = new ArrayList<>();
+        for (String word : value.split("(?<=,)")) {
+            if (line.length() + word.length() > MAX_LINE_LENGTH - INDENT.length() - 5) {
+                parts.add(line.toString());
+                line.setLength(0);
+            }
+            line.append(word);
+        }
+        parts.add(line.toString());
+        source.append(parts.stream()
+                .map(part -> INDENT + toStringLiteral(part))
+                .collect(Collectors.joining(" +\n")));
+    }
+
+    /**
+     * @return {@code value} as a Java string literal; words from input files may contain any character
+     */
+    private static String toStringLiteral(String value) {
+        var literal = new StringBuilder(value.length() + 2).append('"');
+        for (int idx = 0; idx < value.length(); idx++) {
+            char c = value.charAt(idx);
+            switch (c) {
+                case '"' -> literal.append("\\\"");
+                case '\\' -> literal.append("\\\\");
+                case '\n' -> literal.append("\\n");
+                case '\r' -> literal.append("\\r");
+                case '\t' -> literal.append("\\t");
+                default -> {
+                    if (c < ' ') {
+                        // octal: a unicode escape of a line terminator would end the literal
+                        literal.append(String.format("\\%03o", (int) c));
+                    } else if (c > '~') {
+                        literal.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        literal.append(c);
+                    }
+                }
+            }
+        }
+        return literal.append('"').toString();
+    }
+
+    private static <T> void appendValues(StringBuilder source, List<T> values, Function<T, String> formatter) {
+        if (values.isEmpty()) {
+            return;
+        }
+        var line = new StringBuilder("       ");
+        for (int idx = 0; idx < values.size(); idx++) {
+            String value = formatter.apply(values.get(idx)) + (idx < values.size() - 1 ? "," : "");
+            if (line.length() + 1 + value.length() > MAX_LINE_LENGTH) {
+                source.append(line).append('\n');
+                line.setLength(0);
+                line.append("       ");
+            }
+            line.append(' ').append(value);
+        }
+        source.append(line).append('\n');
+    }
+
+    private static List<Integer> boxed(int[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+
+    private static List<Long> boxed(long[] values) {
+        return Arrays.stream(values).boxed().toList();
+    }
+
+}
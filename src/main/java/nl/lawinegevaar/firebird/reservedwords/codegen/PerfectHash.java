@@ -0,0 +1,151 @@
+package nl.lawinegevaar.firebird.reservedwords.codegen;
+
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Minimal perfect hash of a set of words, built with the hash-and-displace (CHD) algorithm.
+ * <p>
+ * Words are first distributed over buckets with {@code hash(0, word)}. Then, largest bucket first, each bucket gets
+ * the smallest displacement {@code d >= 1} for which {@code hash(d, word) % size} of all words in the bucket are
+ * distinct slots that are not yet taken. A lookup therefore needs two hashes and one comparison, and no branches
+ * on the word itself.
+ * </p>
+ */
+final class PerfectHash {
+
+    /**
+     * Source of {@link #hash(int, CharSequence)} as emitted in the generated classes; both must stay identical.
+     */
+    static final String HASH_SOURCE = """
+                private static int hash(int seed, CharSequence word) {
+                    int hash = (seed * 0x9E3779B9) ^ 0x811C9DC5;
+                    for (int idx = 0; idx < word.length(); idx++) {
+                        char c = word.charAt(idx);
+                        hash = (hash ^ (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c)) * 0x01000193;
+                    }
+                    hash ^= hash >>> 16;
+                    hash *= 0x85EBCA6B;
+                    return hash ^ (hash >>> 13);
+                }
+            """;
+
+    private static final int AVERAGE_BUCKET_SIZE = 3;
+    private static final int MAX_DISPLACEMENT = 1 << 24;
+
+    private final String[] slots;
+    private final int[] displacements;
+
+    private PerfectHash(String[] slots, int[] displacements) {
+        this.slots = slots;
+        this.displacements = displacements;
+    }
+
+    /**
+     * @return words ordered by their slot
+     */
+    String[] slots() {
+        return slots;
+    }
+
+    /**
+     * @return displacement per bucket
+     */
+    int[] displacements() {
+        return displacements;
+    }
+
+    /**
+     * @return slot of the word, or {@code -1} if the word is not in this hash
+     */
+    int indexOf(CharSequence word) {
+        int bucket = Integer.remainderUnsigned(hash(0, word), displacements.length);
+        int index = Integer.remainderUnsigned(hash(displacements[bucket], word), slots.length);
+        return slots[index].equalsIgnoreCase(word.toString()) ? index : -1;
+    }
+
+    /**
+     * Builds a perfect hash.
+     *
+     * @param words
+     *         distinct, upper case words; must not be empty
+     * @return perfect hash
+     * @throws KeywordProcessingException
+     *         if no displacement could be found for a bucket
+     */
+    static PerfectHash build(List<String> words) throws KeywordProcessingException {
+        int size = words.size();
+        if (size == 0) {
+            throw new IllegalArgumentException("words must not be empty");
+        }
+        int bucketCount = (size + AVERAGE_BUCKET_SIZE - 1) / AVERAGE_BUCKET_SIZE;
+        var buckets = new ArrayList<List<String>>(bucketCount);
+        for (int idx = 0; idx < bucketCount; idx++) {
+            buckets.add(new ArrayList<>());
+        }
+        for (String word : words) {
+            buckets.get(Integer.remainderUnsigned(hash(0, word), bucketCount)).add(word);
+        }
+        Integer[] bucketOrder = new Integer[bucketCount];
+        Arrays.setAll(bucketOrder, idx -> idx);
+        Arrays.sort(bucketOrder, Comparator.comparingInt((Integer bucket) -> buckets.get(bucket).size()).reversed());
+
+        var slots = new String[size];
+        var displacements = new int[bucketCount];
+        var bucketSlots = new int[size];
+        for (int bucket : bucketOrder) {
+            List<String> bucketWords = buckets.get(bucket);
+            if (bucketWords.isEmpty()) {
+                break;
+            }
+            int displacement = findDisplacement(bucketWords, slots, bucketSlots);
+            displacements[bucket] = displacement;
+            for (int idx = 0; idx < bucketWords.size(); idx++) {
+                slots[bucketSlots[idx]] = bucketWords.get(idx);
+            }
+        }
+        var perfectHash = new PerfectHash(slots, displacements);
+        for (String word : words) {
+            if (perfectHash.indexOf(word) == -1) {
+                throw new AssertionError("Perfect hash does not contain " + word);
+            }
+        }
+        return perfectHash;
+    }
+
+    private static int findDisplacement(List<String> bucketWords, String[] slots, int[] bucketSlots) {
+        nextDisplacement:
+        for (int displacement = 1; displacement < MAX_DISPLACEMENT; displacement++) {
+            for (int idx = 0; idx < bucketWords.size(); idx++) {
+                int slot = Integer.remainderUnsigned(hash(displacement, bucketWords.get(idx)), slots.length);
+                if (slots[slot] != null) {
+                    continue nextDisplacement;
+                }
+                for (int previous = 0; previous < idx; previous++) {
+                    if (bucketSlots[previous] == slot) {
+                        continue nextDisplacement;
+                    }
+                }
+                bucketSlots[idx] = slot;
+            }
+            return displacement;
+        }
+        throw new KeywordProcessingException("Could not find a perfect hash displacement for " + bucketWords);
+    }
+
+    static int hash(int seed, CharSequence word) {
+        int hash = (seed * 0x9E3779B9) ^ 0x811C9DC5;
+        for (int idx = 0; idx < word.length(); idx++) {
+            char c = word.charAt(idx);
+            hash = (hash ^ (c >= 'a' && c <= 'z' ? c - ('a' - 'A') : c)) * 0x01000193;
+        }
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        return hash ^ (hash >>> 13);
+    }
+
+}
@@ -14,10 +14,12 @@ import org.firebirdsql.management.PageSizeConstants;
 import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.sql.SQLException;
 import java.util.Properties;
 
-@Builder
+@Builder(toBuilder = true)
 @Getter(value = AccessLevel.PRIVATE)
 @Slf4j
 public class DatabaseInfo {
@@ -27,6 +29,8 @@ public class DatabaseInfo {
     @NonNull private final String databaseName;
     @NonNull private final String user;
     @NonNull private final String password;
+    // 0: default of the connection pool
+    private final int maximumPoolSize;
     @Getter(lazy = true, value = AccessLevel.PUBLIC)
     private final DataSource dataSource = initDataSource();
 
@@ -58,6 +62,11 @@ public class DatabaseInfo {
         fbDataSource.setCharSet("utf-8");
         var config = new HikariConfig();
         config.setDataSource(fbDataSource);
+        if (maximumPoolSize > 0) {
+            config.setMaximumPoolSize(maximumPoolSize);
+        }
+        // Exposes the pool statistics over JMX, see KeywordMetrics
+        config.setRegisterMbeans(true);
         return new HikariDataSource(config);
     }
 
@@ -78,6 +87,23 @@ public class DatabaseInfo {
         return createDatabaseInfo(readDatabaseConfiguration());
     }
 
+    /**
+     * Creates the database info from a properties file with the same keys as {@code database.properties}.
+     *
+     * @param propertiesFile
+     *         path of the properties file
+     * @return database info
+     */
+    public static DatabaseInfo createDatabaseInfo(Path propertiesFile) {
+        try (InputStream is = Files.newInputStream(propertiesFile)) {
+            var props = new Properties();
+            props.load(is);
+            return createDatabaseInfo(props);
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to access " + propertiesFile, e);
+        }
+    }
+
     private static DatabaseInfo createDatabaseInfo(Properties properties) {
         return DatabaseInfo.builder()
                 .hostname(properties.getProperty("db.hostname", "localhost"))
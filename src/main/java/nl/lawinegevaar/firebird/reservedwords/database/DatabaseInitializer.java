@@ -1,5 +1,6 @@
 package nl.lawinegevaar.firebird.reservedwords.database;
 
+import com.zaxxer.hikari.pool.HikariPool;
 import lombok.extern.slf4j.Slf4j;
 import org.flywaydb.core.Flyway;
 
@@ -8,20 +9,74 @@ import java.sql.*;
 @Slf4j
 public class DatabaseInitializer {
 
+    /**
+     * Version of the latest migration in {@code db/migrations}; must be updated when a migration is added (checked by
+     * the {@code checkSchemaVersion} build task).
+     */
+    static final String EXPECTED_SCHEMA_VERSION = "4";
+
+    private static final String LATEST_MIGRATION_QUERY = """
+            select "version", "success"
+            from "flyway_schema_history"
+            where "installed_rank" = (select max("installed_rank") from "flyway_schema_history")""";
+
     private final DatabaseInfo databaseInfo;
 
     public DatabaseInitializer(DatabaseInfo databaseInfo) {
         this.databaseInfo = databaseInfo;
     }
 
+    /**
+     * Initializes the database.
+     * <p>
+     * If the database exists and its latest successful migration is {@link #EXPECTED_SCHEMA_VERSION}, nothing else is
+     * done. Otherwise, the database is created if it doesn't exist, and migrated with Flyway.
+     * </p>
+     */
     public void initializeDatabase() {
+        long start = System.nanoTime();
+        boolean schemaCurrent = isSchemaCurrent();
+        long checked = System.nanoTime();
+        log.info("Checked schema version in {} ms", elapsedMillis(start, checked));
+        if (schemaCurrent) {
+            return;
+        }
+
         createDatabase();
+        long created = System.nanoTime();
+        log.info("Created database (if necessary) in {} ms", elapsedMillis(checked, created));
 
         Flyway flyway = Flyway.configure()
                 .dataSource(databaseInfo.getDataSource())
                 .locations("classpath:/db/migrations")
                 .load();
         flyway.migrate();
+        log.info("Migrated database in {} ms", elapsedMillis(created, System.nanoTime()));
+    }
+
+    /**
+     * @return {@code true} if the database exists and is at {@link #EXPECTED_SCHEMA_VERSION}
+     */
+    private boolean isSchemaCurrent() {
+        try (Connection connection = databaseInfo.getDataSource().getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(LATEST_MIGRATION_QUERY)) {
+            if (!rs.next()) {
+                log.debug("No migrations applied");
+                return false;
+            }
+            String version = rs.getString("version");
+            if (EXPECTED_SCHEMA_VERSION.equals(version) && rs.getBoolean("success")) {
+                log.debug("Schema at expected version {}", version);
+                return true;
+            }
+            log.debug("Schema at version {}, expected {}", version, EXPECTED_SCHEMA_VERSION);
+            return false;
+        } catch (HikariPool.PoolInitializationException | SQLException e) {
+            // Database does not exist (yet), or has no schema history
+            log.debug("Could not check schema version", e);
+            return false;
+        }
     }
 
     private void createDatabase() {
@@ -32,5 +87,8 @@ public class DatabaseInitializer {
         }
     }
 
-}
+    private static long elapsedMillis(long startNanos, long endNanos) {
+        return (endNanos - startNanos) / 1_000_000;
+    }
 
+}
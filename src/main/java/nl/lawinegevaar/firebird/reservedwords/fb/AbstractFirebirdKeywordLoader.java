@@ -1,23 +1,35 @@
 package nl.lawinegevaar.firebird.reservedwords.fb;
 
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.ChunkedBatches;
 import nl.lawinegevaar.firebird.reservedwords.KeywordLoader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
 
 import javax.sql.DataSource;
 import java.sql.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.stream.Stream;
 
+@Slf4j
 abstract class AbstractFirebirdKeywordLoader implements KeywordLoader {
 
-    public final void loadKeywords(DataSource dataSource) throws KeywordProcessingException {
-        try (Stream<FirebirdKeyword> keywordStream = getKeywordStream();
-             Connection connection = dataSource.getConnection()) {
-            connection.setAutoCommit(false);
+    private final OperationStats stats = KeywordMetrics.forOperation(getClass().getSimpleName());
 
-            try (var keywordBatch = new FirebirdKeywordBatchStatement(createStatement(connection))) {
-                keywordStream.forEach(keywordBatch::addBatch);
-                keywordBatch.executeBatch();
-                connection.commit();
+    public final void loadKeywords(DataSource dataSource, BatchSettings batchSettings)
+            throws KeywordProcessingException {
+        try (Connection connection = stats.getConnection(dataSource)) {
+            connection.setAutoCommit(false);
+            try {
+                loadKeywords(connection, batchSettings);
+                stats.commit(connection);
             } catch (SQLException | KeywordProcessingException e) {
                 connection.rollback();
                 throw e;
@@ -27,31 +39,80 @@ abstract class AbstractFirebirdKeywordLoader implements KeywordLoader {
         }
     }
 
-    private PreparedStatement createStatement(Connection connection) {
-        try {
-            return connection.prepareStatement(getStatement());
-        } catch (SQLException e) {
-            throw new KeywordProcessingException("Could not prepare statement", e);
+    /**
+     * Loads the keywords using an existing connection, leaving transaction control to the caller.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @param batchSettings
+     *         batch settings
+     * @throws KeywordProcessingException
+     *         for errors reading or writing the keywords
+     */
+    final void loadKeywords(Connection connection, BatchSettings batchSettings) throws KeywordProcessingException {
+        try (Stream<FirebirdKeyword> keywordStream = getKeywordStream();
+             var keywordBatch = new FirebirdKeywordBatchStatement(connection, batchSettings.rowsPerStatement())) {
+            int chunkCount = ChunkedBatches.forEachChunk(keywordStream, batchSettings, keywordBatch::executeChunk);
+            log.info("Executed {} keywords in {} chunks, {} rows updated", keywordBatch.rowCount, chunkCount,
+                    keywordBatch.updateCount);
+        }
+    }
+
+    public final void populate(KeywordCatalog.Builder catalogBuilder) throws KeywordProcessingException {
+        try (Stream<FirebirdKeyword> keywordStream = getKeywordStream()) {
+            keywordStream.forEach(keyword ->
+                    catalogBuilder.addFirebirdKeyword(keyword.firebirdVersion(), keyword.word(), keyword.reserved()));
         }
     }
 
     /**
-     * @return A prepared statement string with 3 parameters: VARCHAR(50), NUMERIC(x,1) and BOOLEAN.
+     * @param rowCount
+     *         number of keywords (rows) written by the statement
+     * @return A prepared statement string with 3 parameters per row: VARCHAR(50), NUMERIC(x,1) and BOOLEAN.
      */
-    abstract String getStatement();
+    abstract String getStatement(int rowCount);
 
     abstract Stream<FirebirdKeyword> getKeywordStream();
 
-    private static class FirebirdKeywordBatchStatement implements AutoCloseable {
+    private class FirebirdKeywordBatchStatement implements AutoCloseable {
+
+        private final Connection connection;
+        private final int rowsPerStatement;
+        // prepared statements by row count: rowsPerStatement, and the remainder of the last chunk
+        private final Map<Integer, PreparedStatement> preparedStatements = new HashMap<>();
+        private long lastChunkEnd;
+        private int rowCount;
+        private int updateCount;
+
+        FirebirdKeywordBatchStatement(Connection connection, int rowsPerStatement) {
+            this.connection = connection;
+            this.rowsPerStatement = rowsPerStatement;
+            // prepare eagerly, so invalid statements are reported before reading the keywords
+            getPreparedStatement(rowsPerStatement);
+            lastChunkEnd = System.nanoTime();
+        }
 
-        private final PreparedStatement preparedStatement;
+        private PreparedStatement getPreparedStatement(int rows) {
+            PreparedStatement preparedStatement = preparedStatements.get(rows);
+            if (preparedStatement == null) {
+                preparedStatement = prepare(rows);
+                preparedStatements.put(rows, preparedStatement);
+            }
+            return preparedStatement;
+        }
 
-        FirebirdKeywordBatchStatement(PreparedStatement preparedStatement) {
-            this.preparedStatement = preparedStatement;
+        private PreparedStatement prepare(int rows) {
+            PreparedStatement preparedStatement;
+            try {
+                preparedStatement = connection.prepareStatement(getStatement(rows));
+            } catch (SQLException e) {
+                throw new KeywordProcessingException("Could not prepare statement", e);
+            }
             try {
                 ParameterMetaData parameterMetaData = preparedStatement.getParameterMetaData();
-                if (parameterMetaData.getParameterCount() != 3) {
-                    throw new KeywordProcessingException("Expected prepared statement with 3 parameters");
+                if (parameterMetaData.getParameterCount() != 3 * rows) {
+                    throw new KeywordProcessingException("Expected prepared statement with " + 3 * rows
+                            + " parameters");
                 }
                 if (parameterMetaData.getParameterType(1) != Types.VARCHAR && parameterMetaData.getPrecision(2) < 50) {
                     throw new KeywordProcessingException("Expected first parameter of type VARCHAR(50) or larger");
@@ -62,26 +123,75 @@ abstract class AbstractFirebirdKeywordLoader implements KeywordLoader {
                 if (parameterMetaData.getParameterType(3) != Types.BOOLEAN) {
                     throw new KeywordProcessingException("Expected third parameter of type BOOLEAN");
                 }
-            } catch (SQLException e) {
+                return preparedStatement;
+            } catch (SQLException | KeywordProcessingException e) {
+                closeQuietly(preparedStatement);
+                if (e instanceof KeywordProcessingException kpe) {
+                    throw kpe;
+                }
                 throw new KeywordProcessingException("Invalid prepared statement", e);
             }
         }
 
-        void addBatch(FirebirdKeyword firebirdKeyword) {
+        void setRow(PreparedStatement preparedStatement, int row, FirebirdKeyword firebirdKeyword) {
             try {
-                preparedStatement.setString(1, firebirdKeyword.word());
-                preparedStatement.setBigDecimal(2, firebirdKeyword.firebirdVersion());
-                preparedStatement.setBoolean(3, firebirdKeyword.reserved());
-
-                preparedStatement.addBatch();
+                int offset = 3 * row;
+                preparedStatement.setString(offset + 1, firebirdKeyword.word());
+                preparedStatement.setBigDecimal(offset + 2, firebirdKeyword.firebirdVersion());
+                preparedStatement.setBoolean(offset + 3, firebirdKeyword.reserved());
             } catch (SQLException e) {
                 throw new KeywordProcessingException("Could not add keyword to batch: " + firebirdKeyword, e);
             }
         }
 
-        void executeBatch() {
+        void executeChunk(List<FirebirdKeyword> chunk) {
+            // time since the previous chunk was executed: reading and parsing, or waiting for the pipeline
+            stats.recordRead(System.nanoTime() - lastChunkEnd);
+            List<FirebirdKeyword> rows = rowsPerStatement == 1 ? chunk : lastPerWord(chunk);
+            long start = System.nanoTime();
+            int chunkUpdateCount = 0;
+            PreparedStatement batchStatement = getPreparedStatement(rowsPerStatement);
+            for (int statementStart = 0; statementStart < rows.size(); statementStart += rowsPerStatement) {
+                int statementRows = Math.min(rowsPerStatement, rows.size() - statementStart);
+                PreparedStatement preparedStatement = getPreparedStatement(statementRows);
+                for (int row = 0; row < statementRows; row++) {
+                    setRow(preparedStatement, row, rows.get(statementStart + row));
+                }
+                try {
+                    if (preparedStatement == batchStatement) {
+                        preparedStatement.addBatch();
+                    } else {
+                        // remainder of a chunk: a single statement with fewer rows
+                        chunkUpdateCount += preparedStatement.executeUpdate();
+                    }
+                } catch (SQLException e) {
+                    throw new KeywordProcessingException("Could not execute statement", e);
+                }
+            }
+            chunkUpdateCount += ChunkedBatches.totalUpdateCount(executeBatch(batchStatement));
+            lastChunkEnd = System.nanoTime();
+            stats.recordBatch(chunk.size(), chunkUpdateCount, lastChunkEnd - start);
+            rowCount += chunk.size();
+            updateCount += chunkUpdateCount;
+            log.info("Executed chunk of {} keywords, {} rows updated", chunk.size(), chunkUpdateCount);
+        }
+
+        /**
+         * A multi-row merge cannot match the same target row twice, so only the last occurrence of a word is kept,
+         * which has the same result as merging the rows one by one.
+         */
+        private List<FirebirdKeyword> lastPerWord(List<FirebirdKeyword> chunk) {
+            var lastPerWord = new LinkedHashMap<String, FirebirdKeyword>(chunk.size() * 2);
+            for (FirebirdKeyword keyword : chunk) {
+                lastPerWord.remove(keyword.word());
+                lastPerWord.put(keyword.word(), keyword);
+            }
+            return lastPerWord.size() == chunk.size() ? chunk : new ArrayList<>(lastPerWord.values());
+        }
+
+        int[] executeBatch(PreparedStatement preparedStatement) {
             try {
-                preparedStatement.executeBatch();
+                return preparedStatement.executeBatch();
             } catch (SQLException e) {
                 throw new KeywordProcessingException("Could not execute batch", e);
             }
@@ -89,11 +199,25 @@ abstract class AbstractFirebirdKeywordLoader implements KeywordLoader {
 
         @Override
         public void close() {
-            try {
-                preparedStatement.close();
-            } catch (SQLException e) {
-                throw new KeywordProcessingException("Could not close prepared statement", e);
+            SQLException failure = null;
+            for (PreparedStatement preparedStatement : preparedStatements.values()) {
+                try {
+                    preparedStatement.close();
+                } catch (SQLException e) {
+                    failure = e;
+                }
             }
+            if (failure != null) {
+                throw new KeywordProcessingException("Could not close prepared statement", failure);
+            }
+        }
+    }
+
+    private static void closeQuietly(PreparedStatement preparedStatement) {
+        try {
+            preparedStatement.close();
+        } catch (SQLException e) {
+            log.debug("Ignored exception closing prepared statement", e);
         }
     }
 
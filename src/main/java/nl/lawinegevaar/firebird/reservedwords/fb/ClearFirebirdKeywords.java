@@ -2,6 +2,9 @@ package nl.lawinegevaar.firebird.reservedwords.fb;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
@@ -12,6 +15,9 @@ import java.sql.SQLException;
 @Slf4j
 final class ClearFirebirdKeywords {
 
+    private static final OperationStats STATS =
+            KeywordMetrics.forOperation(ClearFirebirdKeywords.class.getSimpleName());
+
     private final BigDecimal firebirdVersion;
 
     ClearFirebirdKeywords(BigDecimal firebirdVersion) {
@@ -20,14 +26,33 @@ final class ClearFirebirdKeywords {
 
     void clearKeywords(DataSource dataSource) {
         log.info("Deleting all keywords for version {}", firebirdVersion);
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(
-                     "delete from FB_KEYWORD where FB_VERSION = ?")) {
+        try (Connection connection = STATS.getConnection(dataSource)) {
+            clearKeywords(connection);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    /**
+     * Deletes all keywords of the version using an existing connection, leaving transaction control to the caller.
+     *
+     * @param connection
+     *         connection
+     */
+    void clearKeywords(Connection connection) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                "delete from FB_KEYWORD where FB_VERSION = ?")) {
             preparedStatement.setBigDecimal(1, firebirdVersion);
-            preparedStatement.execute();
+            long start = System.nanoTime();
+            int deleteCount = preparedStatement.executeUpdate();
+            STATS.recordBatch(0, deleteCount, System.nanoTime() - start);
         } catch (SQLException e) {
             throw new KeywordProcessingException("Data-access exception", e);
         }
     }
 
+    void clearKeywords(KeywordCatalog.Builder catalogBuilder) {
+        catalogBuilder.clearFirebirdVersion(firebirdVersion);
+    }
+
 }
@@ -1,22 +1,28 @@
 package nl.lawinegevaar.firebird.reservedwords.fb;
 
 import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.ChunkedBatches;
+import nl.lawinegevaar.firebird.reservedwords.KeywordFileReader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
 
 import javax.sql.DataSource;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Stream;
 
 @Slf4j
 final class DeleteFirebirdKeywords {
 
+    private static final OperationStats STATS =
+            KeywordMetrics.forOperation(DeleteFirebirdKeywords.class.getSimpleName());
+
     private final BigDecimal firebirdVersion;
     private final String keywordsFilePath;
 
@@ -25,26 +31,14 @@ final class DeleteFirebirdKeywords {
         this.keywordsFilePath = keywordsFilePath;
     }
 
-    void deleteKeywords(DataSource dataSource) throws KeywordProcessingException {
+    void deleteKeywords(DataSource dataSource, BatchSettings batchSettings) throws KeywordProcessingException {
         log.info("Deleting keywords for version {} from file '{}'", firebirdVersion, keywordsFilePath);
-        try (Stream<String> keywordStream = getKeywordStream();
-             Connection connection = dataSource.getConnection()) {
+        try (Connection connection = STATS.getConnection(dataSource)) {
             connection.setAutoCommit(false);
-            try (PreparedStatement pstmt = connection.prepareStatement(
-                    "delete from FB_KEYWORD where WORD = ? and FB_VERSION = ?")) {
-
-                keywordStream.forEach(keyword -> {
-                    try {
-                        pstmt.setString(1, keyword);
-                        pstmt.setBigDecimal(2, firebirdVersion);
-                        pstmt.addBatch();
-                    } catch (SQLException e) {
-                        throw new KeywordProcessingException("Could not delete keyword: " + keyword, e);
-                    }
-                });
-                pstmt.executeBatch();
-                connection.commit();
-            } catch (SQLException e) {
+            try (Stream<String> keywordStream = getKeywordStream()) {
+                deleteKeywords(connection, firebirdVersion, keywordStream, batchSettings);
+                STATS.commit(connection);
+            } catch (SQLException | KeywordProcessingException e) {
                 connection.rollback();
                 throw e;
             }
@@ -53,14 +47,81 @@ final class DeleteFirebirdKeywords {
         }
     }
 
-    @SuppressWarnings("resource")
-    private Stream<String> getKeywordStream() throws KeywordProcessingException {
-        try {
-            return Files.lines(Path.of(keywordsFilePath), StandardCharsets.ISO_8859_1)
-                    .map(String::trim)
-                    .filter(line -> !line.isEmpty());
-        } catch (IOException e) {
-            throw new KeywordProcessingException("Keywords file not found or other IO error", e);
+    /**
+     * Deletes keywords using an existing connection, leaving transaction control to the caller.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @param firebirdVersion
+     *         version to delete from
+     * @param keywordStream
+     *         keywords to delete
+     * @param batchSettings
+     *         batch settings
+     * @throws KeywordProcessingException
+     *         for errors reading or deleting the keywords
+     */
+    static void deleteKeywords(Connection connection, BigDecimal firebirdVersion, Stream<String> keywordStream,
+            BatchSettings batchSettings) throws KeywordProcessingException {
+        int rowsPerStatement = batchSettings.rowsPerStatement();
+        try (PreparedStatement pstmt = connection.prepareStatement(getStatement(rowsPerStatement))) {
+            ChunkedBatches.forEachChunk(keywordStream, batchSettings, chunk -> {
+                try {
+                    long start = System.nanoTime();
+                    int deleteCount = 0;
+                    for (int statementStart = 0; statementStart < chunk.size(); statementStart += rowsPerStatement) {
+                        List<String> keywords = chunk.subList(statementStart,
+                                Math.min(chunk.size(), statementStart + rowsPerStatement));
+                        if (keywords.size() == rowsPerStatement) {
+                            setParameters(pstmt, firebirdVersion, keywords);
+                            pstmt.addBatch();
+                        } else {
+                            // remainder of a chunk: a single statement with fewer keywords
+                            try (PreparedStatement remainder = connection.prepareStatement(
+                                    getStatement(keywords.size()))) {
+                                setParameters(remainder, firebirdVersion, keywords);
+                                deleteCount += remainder.executeUpdate();
+                            }
+                        }
+                    }
+                    deleteCount += ChunkedBatches.totalUpdateCount(pstmt.executeBatch());
+                    STATS.recordBatch(chunk.size(), deleteCount, System.nanoTime() - start);
+                    log.info("Executed chunk of {} keywords, {} rows deleted", chunk.size(), deleteCount);
+                } catch (SQLException e) {
+                    throw new KeywordProcessingException("Could not delete keywords: " + chunk, e);
+                }
+            });
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    /**
+     * @param keywordCount
+     *         number of keywords deleted by the statement
+     * @return delete statement with a parameter per keyword, followed by the version parameter
+     */
+    private static String getStatement(int keywordCount) {
+        return keywordCount == 1
+                ? "delete from FB_KEYWORD where WORD = ? and FB_VERSION = ?"
+                : "delete from FB_KEYWORD where WORD in (" + "?, ".repeat(keywordCount - 1) + "?) and FB_VERSION = ?";
+    }
+
+    private static void setParameters(PreparedStatement pstmt, BigDecimal firebirdVersion, List<String> keywords)
+            throws SQLException {
+        for (int idx = 0; idx < keywords.size(); idx++) {
+            pstmt.setString(idx + 1, keywords.get(idx));
+        }
+        pstmt.setBigDecimal(keywords.size() + 1, firebirdVersion);
+    }
+
+    void deleteKeywords(KeywordCatalog.Builder catalogBuilder) throws KeywordProcessingException {
+        try (Stream<String> keywordStream = getKeywordStream()) {
+            keywordStream.forEach(keyword -> catalogBuilder.removeFirebirdKeyword(firebirdVersion, keyword));
         }
     }
+
+    Stream<String> getKeywordStream() throws KeywordProcessingException {
+        return KeywordFileReader.readKeywords(keywordsFilePath);
+    }
 }
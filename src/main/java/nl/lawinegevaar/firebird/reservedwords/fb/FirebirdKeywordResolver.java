@@ -0,0 +1,60 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.ResolvedKeywords;
+
+import java.math.BigDecimal;
+import java.util.stream.Stream;
+
+/**
+ * Reads all input files of a Firebird version and resolves them in memory, in the same order as the individual
+ * loaders: keywords source file, non-reserved override, reserved overrides and finally deletes.
+ */
+@Slf4j
+final class FirebirdKeywordResolver {
+
+    private final FirebirdKeywordSources sources;
+
+    FirebirdKeywordResolver(FirebirdKeywordSources sources) {
+        this.sources = sources;
+    }
+
+    ResolvedKeywords resolve() throws KeywordProcessingException {
+        BigDecimal firebirdVersion = sources.firebirdVersion();
+        var resolvedKeywords = new ResolvedKeywords();
+        if (sources.keywordsSourceFile() != null) {
+            log.info("Reading keywords from Firebird {} source file '{}'", firebirdVersion,
+                    sources.keywordsSourceFile());
+            merge(resolvedKeywords,
+                    new FirebirdKeywordsFromSource(firebirdVersion, sources.keywordsSourceFile()).getKeywordStream());
+        }
+        if (sources.nonReservedOverrideFile() != null) {
+            merge(resolvedKeywords, overrideStream(sources.nonReservedOverrideFile(), false));
+        }
+        for (String path : sources.reservedOverrideFiles()) {
+            merge(resolvedKeywords, overrideStream(path, true));
+        }
+        for (String path : sources.deleteKeywordsFiles()) {
+            log.info("Reading keywords to delete for Firebird {} from file '{}'", firebirdVersion, path);
+            try (Stream<String> keywordStream = new DeleteFirebirdKeywords(firebirdVersion, path).getKeywordStream()) {
+                keywordStream.forEach(resolvedKeywords::delete);
+            }
+        }
+        log.info("Resolved Firebird {} keywords: {}", firebirdVersion, resolvedKeywords);
+        return resolvedKeywords;
+    }
+
+    private Stream<FirebirdKeyword> overrideStream(String path, boolean markAsReserved) {
+        log.info("Reading keywords for Firebird {} from file '{}' as {}", sources.firebirdVersion(), path,
+                markAsReserved ? "reserved" : "non-reserved");
+        return new OverrideFirebirdKeywords(sources.firebirdVersion(), path, markAsReserved).getKeywordStream();
+    }
+
+    private static void merge(ResolvedKeywords resolvedKeywords, Stream<FirebirdKeyword> keywordStream) {
+        try (keywordStream) {
+            keywordStream.forEach(keyword -> resolvedKeywords.merge(keyword.word(), keyword.reserved()));
+        }
+    }
+
+}
@@ -0,0 +1,240 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scanner for the keyword tables in the Firebird sources, recognizing the keyword entries in a single pass over the
+ * bytes of the file.
+ * <p>
+ * Like the regular expressions it replaces, it recognizes at most one entry per line, and only allocates for the
+ * keywords it finds. Recognized forms:
+ * </p>
+ * <ul>
+ * <li>Firebird 1.5 and earlier: {@code {BASENAME, "BASE_NAME", 1}} (always reserved)</li>
+ * <li>Firebird 2.0 - 3.0: {@code {ABS, "ABS", 2, false}} (last value is non-reserved)</li>
+ * <li>Firebird 4.0: {@code {TOK_ABS, "ABS", true}} (last value is non-reserved)</li>
+ * <li>Firebird 5.0 and later: {@code PARSER_TOKEN(TOK_ABS, "ABS", true)} (last value is non-reserved)</li>
+ * </ul>
+ */
+final class FirebirdKeywordScanner {
+
+    private static final byte[] PARSER_TOKEN = "PARSER_TOKEN(".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] TRUE = "true".getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FALSE = "false".getBytes(StandardCharsets.US_ASCII);
+    private static final int NO_MATCH = -1;
+
+    private final BigDecimal firebirdVersion;
+    private final Format format;
+
+    FirebirdKeywordScanner(BigDecimal firebirdVersion) {
+        this.firebirdVersion = firebirdVersion;
+        format = Format.of(firebirdVersion);
+    }
+
+    /**
+     * Scans the remaining bytes of {@code buffer} (ISO-8859-1) for keyword entries.
+     *
+     * @param buffer
+     *         file contents; the position of the buffer is not changed
+     * @return keywords in order of occurrence
+     */
+    List<FirebirdKeyword> scan(ByteBuffer buffer) {
+        var keywords = new ArrayList<FirebirdKeyword>();
+        int limit = buffer.limit();
+        int lineStart = buffer.position();
+        while (lineStart < limit) {
+            int lineEnd = lineStart;
+            byte b;
+            while (lineEnd < limit && (b = buffer.get(lineEnd)) != '\n' && b != '\r') {
+                lineEnd++;
+            }
+            FirebirdKeyword keyword = scanLine(buffer, lineStart, lineEnd);
+            if (keyword != null) {
+                keywords.add(keyword);
+            }
+            lineStart = lineEnd + 1;
+        }
+        return keywords;
+    }
+
+    private FirebirdKeyword scanLine(ByteBuffer buffer, int start, int end) {
+        for (int candidate = start; candidate < end; candidate++) {
+            int entryStart = format.entryStart(buffer, candidate, end);
+            if (entryStart == NO_MATCH) {
+                continue;
+            }
+            FirebirdKeyword keyword = scanEntry(buffer, entryStart, end);
+            if (keyword != null) {
+                return keyword;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Scans the remainder of an entry, after the opening {@code {} or {@code PARSER_TOKEN(}.
+     */
+    private FirebirdKeyword scanEntry(ByteBuffer buffer, int pos, int end) {
+        // token identifier: one or more characters up to the first comma
+        int identifierStart = pos;
+        while (pos < end && buffer.get(pos) != ',') {
+            pos++;
+        }
+        if (pos == identifierStart || pos == end) {
+            return null;
+        }
+        pos = skipWhitespace(buffer, pos + 1, end);
+        if (pos == end || buffer.get(pos) != '"') {
+            return null;
+        }
+        int wordStart = ++pos;
+        while (pos < end && buffer.get(pos) != '"') {
+            pos++;
+        }
+        int wordEnd = pos;
+        if (wordEnd == wordStart || wordEnd == end || ++pos == end || buffer.get(pos) != ',') {
+            return null;
+        }
+        pos = skipWhitespace(buffer, pos + 1, end);
+
+        boolean reserved;
+        switch (format) {
+            case FB15 -> {
+                pos = matchTokenLength(buffer, pos, end);
+                reserved = true;
+            }
+            case FB20_30 -> {
+                pos = matchTokenLength(buffer, pos, end);
+                if (pos == NO_MATCH || pos == end || buffer.get(pos) != ',') {
+                    return null;
+                }
+                pos = skipWhitespace(buffer, pos + 1, end);
+                int valueStart = pos;
+                while (pos < end && isWordCharacter(buffer.get(pos))) {
+                    pos++;
+                }
+                if (pos == valueStart) {
+                    return null;
+                }
+                // Boolean.parseBoolean semantics: anything other than true (ignoring case) is false
+                reserved = !regionEqualsIgnoreCase(buffer, valueStart, pos, TRUE);
+            }
+            default -> {
+                int afterTrue = matchLiteral(buffer, pos, end, TRUE);
+                if (afterTrue != NO_MATCH) {
+                    pos = afterTrue;
+                    reserved = false;
+                } else {
+                    pos = matchLiteral(buffer, pos, end, FALSE);
+                    reserved = true;
+                }
+            }
+        }
+        if (pos == NO_MATCH || pos == end || buffer.get(pos) != format.entryEnd) {
+            return null;
+        }
+        return new FirebirdKeyword(toString(buffer, wordStart, wordEnd), firebirdVersion, reserved);
+    }
+
+    private static int matchTokenLength(ByteBuffer buffer, int pos, int end) {
+        if (pos < end) {
+            byte b = buffer.get(pos);
+            if (b == '1' || b == '2') {
+                return pos + 1;
+            }
+        }
+        return NO_MATCH;
+    }
+
+    private static int matchLiteral(ByteBuffer buffer, int pos, int end, byte[] literal) {
+        if (end - pos < literal.length) {
+            return NO_MATCH;
+        }
+        for (int idx = 0; idx < literal.length; idx++) {
+            if (buffer.get(pos + idx) != literal[idx]) {
+                return NO_MATCH;
+            }
+        }
+        return pos + literal.length;
+    }
+
+    private static boolean regionEqualsIgnoreCase(ByteBuffer buffer, int start, int end, byte[] lowerCaseLiteral) {
+        if (end - start != lowerCaseLiteral.length) {
+            return false;
+        }
+        for (int idx = 0; idx < lowerCaseLiteral.length; idx++) {
+            byte b = buffer.get(start + idx);
+            if (b >= 'A' && b <= 'Z') {
+                b += 'a' - 'A';
+            }
+            if (b != lowerCaseLiteral[idx]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Skips whitespace (as {@code \s} in a regular expression) within a line.
+     */
+    private static int skipWhitespace(ByteBuffer buffer, int pos, int end) {
+        while (pos < end) {
+            byte b = buffer.get(pos);
+            if (b != ' ' && b != '\t' && b != 0x0B && b != '\f') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static boolean isWordCharacter(byte b) {
+        return b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b >= '0' && b <= '9' || b == '_';
+    }
+
+    private static String toString(ByteBuffer buffer, int start, int end) {
+        var bytes = new byte[end - start];
+        buffer.get(start, bytes);
+        return new String(bytes, StandardCharsets.ISO_8859_1);
+    }
+
+    private enum Format {
+        FB15('}'),
+        FB20_30('}'),
+        FB40('}'),
+        FB50(')');
+
+        private final byte entryEnd;
+
+        Format(char entryEnd) {
+            this.entryEnd = (byte) entryEnd;
+        }
+
+        /**
+         * @return position after the start of an entry at {@code pos}, or {@link #NO_MATCH}
+         */
+        int entryStart(ByteBuffer buffer, int pos, int end) {
+            if (this == FB50) {
+                return matchLiteral(buffer, pos, end, PARSER_TOKEN);
+            }
+            return buffer.get(pos) == '{' ? pos + 1 : NO_MATCH;
+        }
+
+        static Format of(BigDecimal firebirdVersion) {
+            if (new BigDecimal("1.5").compareTo(firebirdVersion) >= 0) {
+                return FB15;
+            } else if (new BigDecimal("5.0").compareTo(firebirdVersion) <= 0) {
+                return FB50;
+            } else if (new BigDecimal("4.0").compareTo(firebirdVersion) <= 0) {
+                return FB40;
+            } else {
+                return FB20_30;
+            }
+        }
+    }
+
+}
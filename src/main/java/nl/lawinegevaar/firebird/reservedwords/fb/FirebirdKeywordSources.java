@@ -0,0 +1,60 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import lombok.Builder;
+import lombok.NonNull;
+import lombok.Singular;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Input files for the keywords of a single Firebird version.
+ *
+ * @param firebirdVersion
+ *         Firebird version
+ * @param keywordsSourceFile
+ *         Firebird keywords source file ({@code keywords.cpp} or {@code ParserTokens.h}), a Firebird source tree
+ *         containing it (a directory, {@code .zip} or {@code .tar.gz}), or {@code null}
+ * @param nonReservedOverrideFile
+ *         file with keywords to mark as non-reserved, or {@code null}
+ * @param reservedOverrideFiles
+ *         files with keywords to mark as reserved
+ * @param deleteKeywordsFiles
+ *         files with keywords to remove
+ */
+@Builder
+public record FirebirdKeywordSources(
+        @NonNull BigDecimal firebirdVersion,
+        String keywordsSourceFile,
+        String nonReservedOverrideFile,
+        @Singular List<String> reservedOverrideFiles,
+        @Singular List<String> deleteKeywordsFiles) {
+
+    /**
+     * Input files of the version; if {@link #keywordsSourceFile()} is a source tree directory, its keywords source file
+     * is the input file instead of the directory.
+     *
+     * @return all input files, in the order they are applied
+     * @throws KeywordProcessingException
+     *         if the source tree directory has no keywords source file for the version
+     */
+    public List<String> inputFiles() throws KeywordProcessingException {
+        var inputFiles = new ArrayList<String>();
+        if (keywordsSourceFile != null) {
+            inputFiles.add(Files.isDirectory(Path.of(keywordsSourceFile))
+                    ? FirebirdSourceTree.locateInDirectory(firebirdVersion, keywordsSourceFile).toString()
+                    : keywordsSourceFile);
+        }
+        if (nonReservedOverrideFile != null) {
+            inputFiles.add(nonReservedOverrideFile);
+        }
+        inputFiles.addAll(reservedOverrideFiles);
+        inputFiles.addAll(deleteKeywordsFiles);
+        return inputFiles;
+    }
+
+}
@@ -0,0 +1,312 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordFileReader;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Locates the keywords source file of a Firebird version in a Firebird source tree.
+ * <p>
+ * A source tree is a directory (eg a git checkout), a {@code .zip} archive, or a {@code .tar.gz} (or {@code .tgz})
+ * archive, such as the source archives of a Firebird release. The keywords source file moved between versions:
+ * {@code src/dsql/keywords.cpp} up to Firebird 2.5, {@code src/yvalve/keywords.cpp} in Firebird 3.0,
+ * {@code src/common/keywords.cpp} in Firebird 4.0, and {@code src/common/ParserTokens.h} since Firebird 5.0. In an
+ * archive, {@code src} is either at the root or in a single top-level directory (eg {@code firebird-5.0.0/src}).
+ * </p>
+ * <p>
+ * The keywords source file is read directly from the archive entry, without extracting the archive. Zip archives are
+ * read through their central directory, so only the entry itself is decompressed. A tar archive has no index, so it is
+ * decompressed up to the entry.
+ * </p>
+ */
+@Slf4j
+final class FirebirdSourceTree {
+
+    private static final int TAR_BLOCK_SIZE = 512;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    /**
+     * Maximum size of a keywords source file (the actual files are less than 100 KB).
+     */
+    private static final int MAX_KEYWORDS_FILE_SIZE = 16 * 1024 * 1024;
+    private static final byte[] PAX_PATH_KEY = "path=".getBytes(StandardCharsets.US_ASCII);
+
+    private FirebirdSourceTree() {
+        // no instances
+    }
+
+    private static boolean isZip(String path) {
+        return path.toLowerCase(Locale.ROOT).endsWith(".zip");
+    }
+
+    private static boolean isTarGz(String path) {
+        String lowerCasePath = path.toLowerCase(Locale.ROOT);
+        return lowerCasePath.endsWith(".tar.gz") || lowerCasePath.endsWith(".tgz");
+    }
+
+    /**
+     * @param firebirdVersion
+     *         Firebird version
+     * @return candidate paths of the keywords source file relative to {@code src}, in order of preference
+     */
+    static List<String> keywordsFiles(BigDecimal firebirdVersion) {
+        if (new BigDecimal("5.0").compareTo(firebirdVersion) <= 0) {
+            return List.of("common/ParserTokens.h");
+        } else if (new BigDecimal("4.0").compareTo(firebirdVersion) <= 0) {
+            return List.of("common/keywords.cpp", "yvalve/keywords.cpp");
+        } else if (new BigDecimal("3.0").compareTo(firebirdVersion) <= 0) {
+            return List.of("yvalve/keywords.cpp", "dsql/keywords.cpp");
+        } else {
+            return List.of("dsql/keywords.cpp");
+        }
+    }
+
+    /**
+     * Reads the keywords source file of a Firebird version.
+     *
+     * @param firebirdVersion
+     *         Firebird version
+     * @param path
+     *         path of a keywords source file or source tree
+     * @return contents of the keywords source file
+     * @throws KeywordProcessingException
+     *         if the file does not exist, the source tree has no keywords source file for the version, or for other
+     *         IO errors
+     */
+    static ByteBuffer read(BigDecimal firebirdVersion, String path) throws KeywordProcessingException {
+        if (Files.isDirectory(Path.of(path))) {
+            return KeywordFileReader.read(locateInDirectory(firebirdVersion, path).toString());
+        } else if (isZip(path)) {
+            return readFromZip(firebirdVersion, path);
+        } else if (isTarGz(path)) {
+            return readFromTarGz(firebirdVersion, path);
+        }
+        return KeywordFileReader.read(path);
+    }
+
+    /**
+     * Resolves the keywords source file of a Firebird version in a source tree directory.
+     *
+     * @param firebirdVersion
+     *         Firebird version
+     * @param directory
+     *         root directory of the source tree
+     * @return path of the keywords source file
+     * @throws KeywordProcessingException
+     *         if the directory has no keywords source file for the version
+     */
+    static Path locateInDirectory(BigDecimal firebirdVersion, String directory) throws KeywordProcessingException {
+        Path src = Path.of(directory, "src");
+        for (String keywordsFile : keywordsFiles(firebirdVersion)) {
+            Path candidate = src.resolve(keywordsFile);
+            if (Files.isRegularFile(candidate)) {
+                return candidate;
+            }
+        }
+        throw notFound(firebirdVersion, directory);
+    }
+
+    private static ByteBuffer readFromZip(BigDecimal firebirdVersion, String archive)
+            throws KeywordProcessingException {
+        List<String> keywordsFiles = keywordsFiles(firebirdVersion);
+        try (ZipFile zipFile = new ZipFile(archive)) {
+            ZipEntry match = null;
+            int matchIndex = keywordsFiles.size();
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements() && matchIndex > 0) {
+                ZipEntry entry = entries.nextElement();
+                int index = keywordsFileIndex(entry.getName(), keywordsFiles);
+                if (!entry.isDirectory() && index != -1 && index < matchIndex) {
+                    match = entry;
+                    matchIndex = index;
+                }
+            }
+            if (match == null) {
+                throw notFound(firebirdVersion, archive);
+            }
+            log.debug("Reading keywords source file {} from {}", match.getName(), archive);
+            try (InputStream in = zipFile.getInputStream(match)) {
+                return ByteBuffer.wrap(readEntry(in, match.getSize()));
+            }
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not read Firebird source archive " + archive, e);
+        }
+    }
+
+    private static ByteBuffer readFromTarGz(BigDecimal firebirdVersion, String archive)
+            throws KeywordProcessingException {
+        List<String> keywordsFiles = keywordsFiles(firebirdVersion);
+        try (InputStream in = new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(Path.of(archive)), BUFFER_SIZE), BUFFER_SIZE)) {
+            byte[] match = null;
+            int matchIndex = keywordsFiles.size();
+            var header = new byte[TAR_BLOCK_SIZE];
+            String longName = null;
+            while (matchIndex > 0 && in.readNBytes(header, 0, TAR_BLOCK_SIZE) == TAR_BLOCK_SIZE
+                    && header[0] != 0) {
+                long size = tarSize(header);
+                long padding = (TAR_BLOCK_SIZE - size % TAR_BLOCK_SIZE) % TAR_BLOCK_SIZE;
+                byte type = header[156];
+                String name = longName != null ? longName : tarName(header);
+                longName = null;
+                if (type == 'L') {
+                    // GNU long name of the next entry
+                    longName = cString(readEntry(in, size), 0, (int) size);
+                } else if (type == 'x') {
+                    // pax extended header, may have the path of the next entry
+                    longName = paxPath(readEntry(in, size));
+                } else {
+                    // only regular files
+                    int index = type == '0' || type == 0 ? keywordsFileIndex(name, keywordsFiles) : -1;
+                    if (index != -1 && index < matchIndex) {
+                        log.debug("Reading keywords source file {} from {}", name, archive);
+                        match = readEntry(in, size);
+                        matchIndex = index;
+                    } else {
+                        in.skipNBytes(size);
+                    }
+                }
+                in.skipNBytes(padding);
+            }
+            if (match == null) {
+                throw notFound(firebirdVersion, archive);
+            }
+            return ByteBuffer.wrap(match);
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not read Firebird source archive " + archive, e);
+        }
+    }
+
+    /**
+     * @param entryName
+     *         name of an archive entry
+     * @param keywordsFiles
+     *         candidate keywords source files, relative to {@code src}
+     * @return index of the candidate that {@code entryName} is, or {@code -1} if it is not a candidate
+     */
+    private static int keywordsFileIndex(String entryName, List<String> keywordsFiles) {
+        String name = entryName.startsWith("./") ? entryName.substring(2) : entryName;
+        // skip an optional single top-level directory
+        int firstSlash = name.indexOf('/');
+        String topLevelRelative = firstSlash == -1 ? name : name.substring(firstSlash + 1);
+        for (int index = 0; index < keywordsFiles.size(); index++) {
+            String srcRelative = "src/" + keywordsFiles.get(index);
+            if (name.equals(srcRelative) || topLevelRelative.equals(srcRelative)) {
+                return index;
+            }
+        }
+        return -1;
+    }
+
+    private static byte[] readEntry(InputStream in, long size) throws IOException {
+        if (size < 0 || size > MAX_KEYWORDS_FILE_SIZE) {
+            throw new IOException("Unsupported archive entry size " + size);
+        }
+        byte[] contents = in.readNBytes((int) size);
+        if (contents.length != size) {
+            throw new IOException("Unexpected end of archive");
+        }
+        return contents;
+    }
+
+    private static String tarName(byte[] header) {
+        String name = cString(header, 0, 100);
+        if (header[257] == 'u' && header[258] == 's' && header[259] == 't' && header[260] == 'a'
+                && header[261] == 'r' && header[345] != 0) {
+            // ustar: path is prefix '/' name
+            return cString(header, 345, 155) + '/' + name;
+        }
+        return name;
+    }
+
+    private static long tarSize(byte[] header) throws IOException {
+        if ((header[124] & 0x80) != 0) {
+            // base-256 encoding, only used for entries of 8 GB or more
+            throw new IOException("Unsupported tar entry size encoding");
+        }
+        long size = 0;
+        for (int idx = 124; idx < 136; idx++) {
+            byte b = header[idx];
+            if (b >= '0' && b <= '7') {
+                size = size * 8 + (b - '0');
+            } else if (b == 0 || b == ' ') {
+                if (size > 0) {
+                    break;
+                }
+            } else {
+                throw new IOException("Invalid tar entry size");
+            }
+        }
+        return size;
+    }
+
+    /**
+     * @return path of a pax extended header ({@code <length> path=<path>\n} record), or {@code null} if it has none
+     */
+    private static String paxPath(byte[] extendedHeader) {
+        // record lengths are in bytes, so only the path value is decoded
+        int pos = 0;
+        while (pos < extendedHeader.length) {
+            int length = 0;
+            int idx = pos;
+            while (idx < extendedHeader.length && extendedHeader[idx] >= '0' && extendedHeader[idx] <= '9'
+                    && length <= extendedHeader.length) {
+                length = length * 10 + (extendedHeader[idx++] - '0');
+            }
+            if (idx == pos || idx >= extendedHeader.length || extendedHeader[idx] != ' '
+                    || length > extendedHeader.length - pos || pos + length <= idx + 1) {
+                break;
+            }
+            int keyStart = idx + 1;
+            // the record ends with a newline, which is not part of the value
+            int end = pos + length - 1;
+            if (startsWith(extendedHeader, keyStart, end, PAX_PATH_KEY)) {
+                int valueStart = keyStart + PAX_PATH_KEY.length;
+                return new String(extendedHeader, valueStart, end - valueStart, StandardCharsets.UTF_8);
+            }
+            pos += length;
+        }
+        return null;
+    }
+
+    private static boolean startsWith(byte[] bytes, int offset, int end, byte[] prefix) {
+        if (end - offset < prefix.length) {
+            return false;
+        }
+        for (int idx = 0; idx < prefix.length; idx++) {
+            if (bytes[offset + idx] != prefix[idx]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String cString(byte[] bytes, int offset, int maxLength) {
+        int end = offset;
+        while (end < offset + maxLength && end < bytes.length && bytes[end] != 0) {
+            end++;
+        }
+        return new String(bytes, offset, end - offset, StandardCharsets.UTF_8);
+    }
+
+    private static KeywordProcessingException notFound(BigDecimal firebirdVersion, String sourceTree) {
+        return new KeywordProcessingException("Source tree " + sourceTree + " has no keywords source file ("
+                + String.join(" or ", keywordsFiles(firebirdVersion).stream().map(file -> "src/" + file).toList())
+                + ") for Firebird " + firebirdVersion);
+    }
+
+}
@@ -0,0 +1,174 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.KeywordDiff;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.KeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.ResolvedKeywords;
+import nl.lawinegevaar.firebird.reservedwords.WriteMode;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keyword store of the Firebird keywords in table {@code FB_KEYWORD} of the keywords database.
+ * <p>
+ * Each write of a version is performed in a single transaction.
+ * </p>
+ */
+@Slf4j
+public final class JdbcFirebirdKeywordStore implements KeywordStore<BigDecimal> {
+
+    private final DataSource dataSource;
+    private final BatchSettings batchSettings;
+    private final OperationStats stats = KeywordMetrics.forOperation(getClass().getSimpleName());
+
+    public JdbcFirebirdKeywordStore(DataSource dataSource, BatchSettings batchSettings) {
+        this.dataSource = dataSource;
+        this.batchSettings = batchSettings;
+    }
+
+    @Override
+    public SortedSet<BigDecimal> versions() throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select distinct FB_VERSION from FB_KEYWORD")) {
+            var versions = new TreeSet<BigDecimal>();
+            while (rs.next()) {
+                versions.add(rs.getBigDecimal(1));
+            }
+            return Collections.unmodifiableSortedSet(versions);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    @Override
+    public Map<String, Boolean> readKeywords(BigDecimal firebirdVersion) throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection()) {
+            return readKeywords(connection, firebirdVersion);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    @Override
+    public void write(BigDecimal firebirdVersion, ResolvedKeywords resolvedKeywords, boolean deleteAll)
+            throws KeywordProcessingException {
+        log.info("Writing resolved keywords for Firebird {}", firebirdVersion);
+        try (Connection connection = stats.getConnection(dataSource)) {
+            connection.setAutoCommit(false);
+            try {
+                if (batchSettings.writeMode() == WriteMode.STAGED) {
+                    writeStaged(connection, firebirdVersion, resolvedKeywords, deleteAll);
+                } else {
+                    if (deleteAll) {
+                        new ClearFirebirdKeywords(firebirdVersion).clearKeywords(connection);
+                    }
+                    mergeKeywords(connection, firebirdVersion, resolvedKeywords.keywords());
+                    if (!deleteAll) {
+                        DeleteFirebirdKeywords.deleteKeywords(connection, firebirdVersion,
+                                resolvedKeywords.deletedKeywords().stream(), batchSettings);
+                    }
+                }
+                stats.commit(connection);
+            } catch (SQLException | KeywordProcessingException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    @Override
+    public KeywordDiff sync(BigDecimal firebirdVersion, ResolvedKeywords resolvedKeywords)
+            throws KeywordProcessingException {
+        log.info("Synchronizing resolved keywords for Firebird {}", firebirdVersion);
+        try (Connection connection = stats.getConnection(dataSource)) {
+            connection.setAutoCommit(false);
+            try {
+                KeywordDiff diff = KeywordDiff.between(
+                        readKeywords(connection, firebirdVersion), resolvedKeywords.keywords());
+                if (!diff.isEmpty()) {
+                    var changedKeywords = new TreeMap<>(diff.inserts());
+                    changedKeywords.putAll(diff.updates());
+                    if (batchSettings.writeMode() == WriteMode.STAGED) {
+                        var staged = new StagedFirebirdKeywords(firebirdVersion, batchSettings);
+                        staged.stage(connection, changedKeywords, diff.deletes());
+                        staged.mergeStaged(connection);
+                        staged.deleteStaged(connection);
+                    } else {
+                        mergeKeywords(connection, firebirdVersion, changedKeywords);
+                        if (!diff.deletes().isEmpty()) {
+                            DeleteFirebirdKeywords.deleteKeywords(connection, firebirdVersion,
+                                    diff.deletes().stream(), batchSettings);
+                        }
+                    }
+                }
+                stats.commit(connection);
+                log.info("Synchronized Firebird {}: {}", firebirdVersion, diff.summary());
+                return diff;
+            } catch (SQLException | KeywordProcessingException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    private static Map<String, Boolean> readKeywords(Connection connection, BigDecimal firebirdVersion)
+            throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "select WORD, RESERVED from FB_KEYWORD where FB_VERSION = ?")) {
+            pstmt.setBigDecimal(1, firebirdVersion);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                var keywords = new HashMap<String, Boolean>();
+                while (rs.next()) {
+                    keywords.put(rs.getString(1), rs.getObject(2, Boolean.class));
+                }
+                return keywords;
+            }
+        }
+    }
+
+    /**
+     * Writes through the staging table: a delete of all keywords is replaced by deleting the keywords that are not
+     * staged for merge, so unchanged keywords are not deleted and inserted again.
+     */
+    private void writeStaged(Connection connection, BigDecimal firebirdVersion, ResolvedKeywords resolvedKeywords,
+            boolean deleteAll) {
+        var staged = new StagedFirebirdKeywords(firebirdVersion, batchSettings);
+        staged.stage(connection, resolvedKeywords.keywords(),
+                deleteAll ? List.of() : resolvedKeywords.deletedKeywords());
+        staged.mergeStaged(connection);
+        if (deleteAll) {
+            staged.deleteNotStaged(connection);
+        } else {
+            staged.deleteStaged(connection);
+        }
+    }
+
+    private void mergeKeywords(Connection connection, BigDecimal firebirdVersion, Map<String, Boolean> keywords) {
+        new MergeFirebirdKeywords(() -> keywords.entrySet().stream()
+                .map(entry -> new FirebirdKeyword(entry.getKey(), firebirdVersion, entry.getValue())))
+                .loadKeywords(connection, batchSettings);
+    }
+
+}
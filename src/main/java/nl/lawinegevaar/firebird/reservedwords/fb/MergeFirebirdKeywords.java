@@ -7,6 +7,11 @@ import java.util.stream.Stream;
 
 final class MergeFirebirdKeywords extends AbstractFirebirdKeywordLoader {
 
+    private static final String SOURCE_ROW = """
+              union all
+              select cast(? as varchar(50)), cast(? as numeric(2,1)), cast(? as boolean) from RDB$DATABASE
+            """;
+
     private final Supplier<Stream<FirebirdKeyword>> keywordStreamSupplier;
 
     MergeFirebirdKeywords(Supplier<Stream<FirebirdKeyword>> keywordStreamSupplier) {
@@ -14,7 +19,7 @@ final class MergeFirebirdKeywords extends AbstractFirebirdKeywordLoader {
     }
 
     @Override
-    String getStatement() {
+    String getStatement(int rowCount) {
         return """
                 merge into FB_KEYWORD
                 using (
@@ -23,13 +28,13 @@ final class MergeFirebirdKeywords extends AbstractFirebirdKeywordLoader {
                     cast(? as numeric(2,1)) as FB_VERSION,
                     cast(? as boolean) as RESERVED
                   from RDB$DATABASE
-                ) as SRC
+                %s) as SRC
                 on FB_KEYWORD.WORD = SRC.WORD and FB_KEYWORD.FB_VERSION = SRC.FB_VERSION
-                when matched and FB_KEYWORD.RESERVED <> SRC.RESERVED then
+                when matched and FB_KEYWORD.RESERVED is distinct from SRC.RESERVED then
                   update set RESERVED = SRC.RESERVED
                 when not matched then
                   insert (WORD, FB_VERSION, RESERVED) values (SRC.WORD, SRC.FB_VERSION, SRC.RESERVED)
-                """;
+                """.formatted(SOURCE_ROW.repeat(rowCount - 1));
     }
 
     @Override
@@ -1,15 +1,14 @@
 package nl.lawinegevaar.firebird.reservedwords.fb;
 
 import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.KeywordFileReader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordLoader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
 
 import javax.sql.DataSource;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -26,22 +25,19 @@ final class OverrideFirebirdKeywords implements KeywordLoader {
     }
 
     @Override
-    public void loadKeywords(DataSource dataSource) throws KeywordProcessingException {
+    public void loadKeywords(DataSource dataSource, BatchSettings batchSettings) throws KeywordProcessingException {
         log.info("Merging keywords for Firebird {} from file '{}' as {}", firebirdVersion, keywordsFilePath,
                 markAsReserved ? "reserved" : "non-reserved");
-        new MergeFirebirdKeywords(this::getKeywordStream).loadKeywords(dataSource);
+        new MergeFirebirdKeywords(this::getKeywordStream).loadKeywords(dataSource, batchSettings);
     }
 
-    @SuppressWarnings("resource")
-    private Stream<FirebirdKeyword> getKeywordStream() throws KeywordProcessingException {
-        try {
-            return Files.lines(Path.of(keywordsFilePath), StandardCharsets.ISO_8859_1)
-                    .map(String::trim)
-                    .filter(line -> !line.isEmpty() && !line.startsWith("#"))
-                    .map(this::toFirebirdKeyword);
-        } catch (IOException e) {
-            throw new KeywordProcessingException("Keywords file not found or other IO error", e);
-        }
+    @Override
+    public void populate(KeywordCatalog.Builder catalogBuilder) throws KeywordProcessingException {
+        new MergeFirebirdKeywords(this::getKeywordStream).populate(catalogBuilder);
+    }
+
+    Stream<FirebirdKeyword> getKeywordStream() throws KeywordProcessingException {
+        return KeywordFileReader.readKeywords(keywordsFilePath).map(this::toFirebirdKeyword);
     }
 
     private FirebirdKeyword toFirebirdKeyword(String keywordString) {
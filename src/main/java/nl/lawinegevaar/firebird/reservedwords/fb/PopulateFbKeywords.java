@@ -1,12 +1,24 @@
 package nl.lawinegevaar.firebird.reservedwords.fb;
 
 import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.FileKeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.ImportLog;
+import nl.lawinegevaar.firebird.reservedwords.ImportOptions;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.KeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.ResolvedKeywords;
+import nl.lawinegevaar.firebird.reservedwords.WriteMode;
 import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInfo;
 import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInitializer;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
 import org.apache.commons.cli.*;
 
 import javax.sql.DataSource;
 import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
 
 @Slf4j
 public class PopulateFbKeywords {
@@ -15,9 +27,11 @@ public class PopulateFbKeywords {
 
     public static void main(String[] args) {
         CommandLine commandLine = getCommandLine(args);
-        DatabaseInfo databaseInfo = DatabaseInfo.createDatabaseInfo();
-        initialize(databaseInfo);
+        if (commandLine.hasOption("stats")) {
+            KeywordMetrics.printSummaryOnExit(System.out);
+        }
         if (commandLine.hasOption("init-only")) {
+            initialize(DatabaseInfo.createDatabaseInfo());
             String message = "Initialization only requested, exiting...";
             System.out.println(message);
             log.info(message);
@@ -31,31 +45,131 @@ public class PopulateFbKeywords {
         }
         final BigDecimal firebirdVersion = new BigDecimal(commandLine.getOptionValue("v"));
 
-        DataSource dataSource = databaseInfo.getDataSource();
-        if (commandLine.hasOption("delete-all")) {
-            new ClearFirebirdKeywords(firebirdVersion)
-                    .clearKeywords(dataSource);
+        if (commandLine.hasOption("sync") && commandLine.hasOption("delete-all")) {
+            System.err.println("Invalid command line: options --sync and --delete-all cannot be combined");
+            printUsage();
+            System.exit(-1);
+        }
+        final BatchSettings batchSettings = getBatchSettings(commandLine);
+        final DataSource dataSource = commandLine.hasOption("store-file") ? null : getDataSource();
+        final ImportOptions importOptions = ImportOptions.builder()
+                .batchSettings(batchSettings)
+                .deleteAll(commandLine.hasOption("delete-all"))
+                .sync(commandLine.hasOption("sync"))
+                .importLog(dataSource != null ? new ImportLog(dataSource) : null)
+                .force(commandLine.hasOption("force"))
+                .build();
+
+        KeywordStore<BigDecimal> store = dataSource != null
+                ? new JdbcFirebirdKeywordStore(dataSource, batchSettings)
+                : FileKeywordStore.firebird(Path.of(commandLine.getOptionValue("store-file")));
+        String summary = populate(store, getSources(commandLine, firebirdVersion), importOptions);
+        System.out.printf("Firebird %s: %s%n", firebirdVersion, summary);
+    }
+
+    /**
+     * Resolves the input files of a Firebird version and writes the result to a keyword store.
+     *
+     * @param store
+     *         keyword store
+     * @param sources
+     *         input files of the version
+     * @param importOptions
+     *         import options
+     * @return summary of the changes
+     * @throws KeywordProcessingException
+     *         for errors reading the input files or writing to the store
+     */
+    public static String populate(KeywordStore<BigDecimal> store, FirebirdKeywordSources sources,
+            ImportOptions importOptions) throws KeywordProcessingException {
+        final BigDecimal firebirdVersion = sources.firebirdVersion();
+        ImportLog importLog = importOptions.importLog();
+        Map<String, String> inputHashes = null;
+        boolean unchanged = false;
+        if (importLog != null) {
+            // hashed before reading: if a file changes in between, the next import sees a different hash
+            inputHashes = ImportLog.hash(sources.inputFiles());
+            unchanged = !inputHashes.isEmpty()
+                    && inputHashes.equals(importLog.read(ImportLog.FIREBIRD, firebirdVersion));
+            if (unchanged && importOptions.unchangedImportReason() == null) {
+                log.info("Input files of Firebird {} unchanged since the last import, skipped", firebirdVersion);
+                return "skipped, input files unchanged since the last import";
+            }
+        }
+
+        long start = System.nanoTime();
+        ResolvedKeywords resolvedKeywords = new FirebirdKeywordResolver(sources).resolve();
+        KeywordMetrics.forOperation(FirebirdKeywordResolver.class.getSimpleName())
+                .recordRead(System.nanoTime() - start);
+        String summary;
+        if (importOptions.sync()) {
+            summary = store.sync(firebirdVersion, resolvedKeywords).summary();
+        } else {
+            store.write(firebirdVersion, resolvedKeywords, importOptions.deleteAll());
+            // the counts of the input: the store does not report the rows it changed
+            summary = importOptions.deleteAll()
+                    ? String.format("%d keywords written, replacing all previous keywords",
+                            resolvedKeywords.keywords().size())
+                    : String.format("%d keywords merged, %d keywords on the delete list",
+                            resolvedKeywords.keywords().size(), resolvedKeywords.deletedKeywords().size());
         }
-        if (commandLine.hasOption("keywords-source-file")) {
-            new FirebirdKeywordsFromSource(firebirdVersion, commandLine.getOptionValue("keywords-source-file"))
-                    .loadKeywords(dataSource);
+        if (unchanged) {
+            summary = "input files unchanged since the last import, imported for "
+                    + importOptions.unchangedImportReason() + ": " + summary;
         }
-        if (commandLine.hasOption("override-non-reserved")) {
-            new OverrideFirebirdKeywords(firebirdVersion, commandLine.getOptionValue("override-non-reserved"), false)
-                    .loadKeywords(dataSource);
+        if (importLog != null && !unchanged) {
+            // an unchanged import already has these hashes recorded
+            importLog.record(ImportLog.FIREBIRD, firebirdVersion, inputHashes);
         }
+        return summary;
+    }
+
+    private static FirebirdKeywordSources getSources(CommandLine commandLine, BigDecimal firebirdVersion) {
+        var sources = FirebirdKeywordSources.builder()
+                .firebirdVersion(firebirdVersion)
+                .keywordsSourceFile(commandLine.getOptionValue("keywords-source-file"))
+                .nonReservedOverrideFile(commandLine.getOptionValue("override-non-reserved"));
         if (commandLine.hasOption("override-reserved")) {
-            for (String path : commandLine.getOptionValues("override-reserved")) {
-                new OverrideFirebirdKeywords(firebirdVersion, path, true)
-                        .loadKeywords(dataSource);
-            }
+            sources.reservedOverrideFiles(List.of(commandLine.getOptionValues("override-reserved")));
         }
         if (commandLine.hasOption("delete-keywords")) {
-            for (String path : commandLine.getOptionValues("delete-keywords")) {
-                new DeleteFirebirdKeywords(firebirdVersion, path)
-                        .deleteKeywords(dataSource);
+            sources.deleteKeywordsFiles(List.of(commandLine.getOptionValues("delete-keywords")));
+        }
+        return sources.build();
+    }
+
+    private static BatchSettings getBatchSettings(CommandLine commandLine) {
+        int batchSize = BatchSettings.DEFAULT_BATCH_SIZE;
+        if (commandLine.hasOption("batch-size")) {
+            try {
+                batchSize = Integer.parseInt(commandLine.getOptionValue("batch-size"));
+            } catch (NumberFormatException e) {
+                batchSize = 0;
+            }
+            if (batchSize < 1) {
+                System.err.println("Invalid command line: option --batch-size requires a positive integer");
+                printUsage();
+                System.exit(-1);
             }
         }
+        return new BatchSettings(batchSize, commandLine.hasOption("pipeline"), getWriteMode(commandLine));
+    }
+
+    private static WriteMode getWriteMode(CommandLine commandLine) {
+        try {
+            return WriteMode.of(commandLine.getOptionValue("write-mode", WriteMode.BATCH.name()));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid command line: option --write-mode requires batch, bulk or staged");
+            printUsage();
+            System.exit(-1);
+            throw new AssertionError("should not get here");
+        }
+    }
+
+    private static DataSource getDataSource() {
+        DatabaseInfo databaseInfo = DatabaseInfo.createDatabaseInfo();
+        initialize(databaseInfo);
+        return databaseInfo.getDataSource();
     }
 
     private static void initialize(DatabaseInfo databaseInfo) {
@@ -98,10 +212,22 @@ public class PopulateFbKeywords {
                         .longOpt("delete-all")
                         .desc("Deletes all existing keywords for version")
                         .build())
+                .addOption(Option.builder()
+                        .longOpt("force")
+                        .desc("Imports the version even if its input files did not change since the last import "
+                                + "(only checked when writing to the database)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("sync")
+                        .desc("Only writes the differences between the existing keywords of the version and the " +
+                                "input files, deleting keywords not in the input files; prints a change summary")
+                        .build())
                 .addOption(Option.builder()
                         .longOpt("keywords-source-file")
                         .hasArg().argName("FILENAME")
-                        .desc("Firebird keywords.cpp source file (common/keywords.cpp, yvalve/keywords.cpp or dsql/keywords.cpp)")
+                        .desc("Firebird keywords.cpp source file (common/keywords.cpp, yvalve/keywords.cpp or "
+                                + "dsql/keywords.cpp) or ParserTokens.h, or a Firebird source tree containing it "
+                                + "(directory, .zip or .tar.gz)")
                         .build())
                 .addOption(Option.builder()
                         .longOpt("override-non-reserved")
@@ -118,6 +244,33 @@ public class PopulateFbKeywords {
                         .longOpt("delete-keywords")
                         .hasArg().argName("FILENAME")
                         .desc("File with keyword per line that need to be removed for this version")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("batch-size")
+                        .hasArg().argName("ROWS")
+                        .desc("Maximum number of rows per executed batch (default " + BatchSettings.DEFAULT_BATCH_SIZE
+                                + ")")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("pipeline")
+                        .desc("Read the next batch while the current batch is executed")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("write-mode")
+                        .hasArg().argName("MODE")
+                        .desc("batch: a statement per keyword (default); bulk: multi-row statements of up to "
+                                + WriteMode.MAX_BULK_ROWS + " keywords; staged: bulk insert into a staging table, "
+                                + "applied with one merge and one delete")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("stats")
+                        .desc("Prints execution statistics (rows/s, batch and commit latencies, connection pool) "
+                                + "at exit")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-file")
+                        .hasArg().argName("FILENAME")
+                        .desc("Writes the keywords to this local file instead of the database")
                         .build());
     }
 }
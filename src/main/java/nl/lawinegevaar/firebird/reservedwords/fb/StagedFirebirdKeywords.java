@@ -0,0 +1,194 @@
+package nl.lawinegevaar.firebird.reservedwords.fb;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.ChunkedBatches;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set-based write of the keywords of a Firebird version through the global temporary table {@code FB_KEYWORD_STAGE}.
+ * <p>
+ * All methods use an existing connection, leaving transaction control to the caller. The staged rows are only
+ * visible to the transaction, and removed on commit or rollback.
+ * </p>
+ */
+@Slf4j
+final class StagedFirebirdKeywords {
+
+    private static final OperationStats STATS =
+            KeywordMetrics.forOperation(StagedFirebirdKeywords.class.getSimpleName());
+    private static final String STAGE_ROW = """
+              union all
+              select cast(? as varchar(50)), cast(? as boolean), cast(? as boolean) from RDB$DATABASE
+            """;
+
+    private final BigDecimal firebirdVersion;
+    private final BatchSettings batchSettings;
+
+    StagedFirebirdKeywords(BigDecimal firebirdVersion, BatchSettings batchSettings) {
+        this.firebirdVersion = firebirdVersion;
+        this.batchSettings = batchSettings;
+    }
+
+    /**
+     * Inserts keywords into the staging table.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @param keywords
+     *         keywords to merge (word to reserved status)
+     * @param deletedKeywords
+     *         keywords to delete; must not overlap with {@code keywords}
+     * @throws KeywordProcessingException
+     *         for errors inserting the keywords
+     */
+    void stage(Connection connection, Map<String, Boolean> keywords, Collection<String> deletedKeywords)
+            throws KeywordProcessingException {
+        var rows = new ArrayList<StageRow>(keywords.size() + deletedKeywords.size());
+        keywords.forEach((word, reserved) -> rows.add(new StageRow(word, reserved, false)));
+        deletedKeywords.forEach(word -> rows.add(new StageRow(word, null, true)));
+        if (rows.isEmpty()) {
+            return;
+        }
+        int rowsPerStatement = Math.min(batchSettings.rowsPerStatement(), rows.size());
+        long start = System.nanoTime();
+        try (PreparedStatement pstmt = connection.prepareStatement(getStageStatement(rowsPerStatement))) {
+            int insertCount = 0;
+            for (int statementStart = 0; statementStart < rows.size(); statementStart += rowsPerStatement) {
+                List<StageRow> statementRows = rows.subList(statementStart,
+                        Math.min(rows.size(), statementStart + rowsPerStatement));
+                if (statementRows.size() == rowsPerStatement) {
+                    setParameters(pstmt, statementRows);
+                    pstmt.addBatch();
+                } else {
+                    // remainder: a single statement with fewer rows
+                    try (PreparedStatement remainder = connection.prepareStatement(
+                            getStageStatement(statementRows.size()))) {
+                        setParameters(remainder, statementRows);
+                        insertCount += remainder.executeUpdate();
+                    }
+                }
+            }
+            insertCount += ChunkedBatches.totalUpdateCount(pstmt.executeBatch());
+            STATS.recordBatch(rows.size(), insertCount, System.nanoTime() - start);
+            log.info("Staged {} keywords for Firebird {}", insertCount, firebirdVersion);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Could not stage keywords", e);
+        }
+    }
+
+    /**
+     * Merges the staged keywords into {@code FB_KEYWORD}.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @return number of inserted or updated rows
+     * @throws KeywordProcessingException
+     *         for errors executing the merge
+     */
+    int mergeStaged(Connection connection) throws KeywordProcessingException {
+        return execute(connection, "merge", """
+                merge into FB_KEYWORD
+                using (
+                  select WORD, cast(? as numeric(2,1)) as FB_VERSION, RESERVED
+                  from FB_KEYWORD_STAGE
+                  where not DELETED
+                ) as SRC
+                on FB_KEYWORD.WORD = SRC.WORD and FB_KEYWORD.FB_VERSION = SRC.FB_VERSION
+                when matched and FB_KEYWORD.RESERVED is distinct from SRC.RESERVED then
+                  update set RESERVED = SRC.RESERVED
+                when not matched then
+                  insert (WORD, FB_VERSION, RESERVED) values (SRC.WORD, SRC.FB_VERSION, SRC.RESERVED)
+                """);
+    }
+
+    /**
+     * Deletes the keywords staged for deletion from {@code FB_KEYWORD}.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @return number of deleted rows
+     * @throws KeywordProcessingException
+     *         for errors executing the delete
+     */
+    int deleteStaged(Connection connection) throws KeywordProcessingException {
+        return execute(connection, "delete staged", """
+                delete from FB_KEYWORD
+                where FB_VERSION = ?
+                and exists (
+                  select 1 from FB_KEYWORD_STAGE
+                  where FB_KEYWORD_STAGE.WORD = FB_KEYWORD.WORD and FB_KEYWORD_STAGE.DELETED
+                )
+                """);
+    }
+
+    /**
+     * Deletes the keywords of the version from {@code FB_KEYWORD} that are not staged for merge.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @return number of deleted rows
+     * @throws KeywordProcessingException
+     *         for errors executing the delete
+     */
+    int deleteNotStaged(Connection connection) throws KeywordProcessingException {
+        return execute(connection, "delete not staged", """
+                delete from FB_KEYWORD
+                where FB_VERSION = ?
+                and not exists (
+                  select 1 from FB_KEYWORD_STAGE
+                  where FB_KEYWORD_STAGE.WORD = FB_KEYWORD.WORD and not FB_KEYWORD_STAGE.DELETED
+                )
+                """);
+    }
+
+    private int execute(Connection connection, String description, String statement) {
+        long start = System.nanoTime();
+        try (PreparedStatement pstmt = connection.prepareStatement(statement)) {
+            pstmt.setBigDecimal(1, firebirdVersion);
+            int updateCount = pstmt.executeUpdate();
+            STATS.recordBatch(0, updateCount, System.nanoTime() - start);
+            log.info("Executed {} for Firebird {}, {} rows updated", description, firebirdVersion, updateCount);
+            return updateCount;
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Could not execute " + description, e);
+        }
+    }
+
+    private static String getStageStatement(int rowCount) {
+        return """
+                insert into FB_KEYWORD_STAGE (WORD, RESERVED, DELETED)
+                  select cast(? as varchar(50)), cast(? as boolean), cast(? as boolean) from RDB$DATABASE
+                %s""".formatted(STAGE_ROW.repeat(rowCount - 1));
+    }
+
+    private static void setParameters(PreparedStatement pstmt, List<StageRow> rows) throws SQLException {
+        for (int row = 0; row < rows.size(); row++) {
+            StageRow stageRow = rows.get(row);
+            int offset = 3 * row;
+            pstmt.setString(offset + 1, stageRow.word());
+            if (stageRow.reserved() != null) {
+                pstmt.setBoolean(offset + 2, stageRow.reserved());
+            } else {
+                pstmt.setNull(offset + 2, Types.BOOLEAN);
+            }
+            pstmt.setBoolean(offset + 3, stageRow.deleted());
+        }
+    }
+
+    private record StageRow(String word, Boolean reserved, boolean deleted) {
+    }
+
+}
@@ -0,0 +1,85 @@
+package nl.lawinegevaar.firebird.reservedwords.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.PrintStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Registry of the {@link OperationStats} of the keyword operations, registered as MXBeans with the platform MBean
+ * server under {@value #DOMAIN}.
+ * <p>
+ * The connection pools of {@link nl.lawinegevaar.firebird.reservedwords.database.DatabaseInfo} register their own
+ * MBeans under {@code com.zaxxer.hikari}; they are included in the {@link #summary()}.
+ * </p>
+ */
+@Slf4j
+public final class KeywordMetrics {
+
+    static final String DOMAIN = "nl.lawinegevaar.firebird.reservedwords";
+    private static final String[] POOL_ATTRIBUTES =
+            { "ActiveConnections", "IdleConnections", "TotalConnections", "ThreadsAwaitingConnection" };
+    private static final Map<String, OperationStats> OPERATIONS = new ConcurrentSkipListMap<>();
+
+    private KeywordMetrics() {
+        // no instances
+    }
+
+    /**
+     * @param name
+     *         name of the operation (eg the simple name of the class performing it)
+     * @return statistics of the operation, registered with JMX on first use
+     */
+    public static OperationStats forOperation(String name) {
+        return OPERATIONS.computeIfAbsent(name, KeywordMetrics::register);
+    }
+
+    private static OperationStats register(String name) {
+        var stats = new OperationStats(name);
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(stats,
+                    new ObjectName(DOMAIN + ":type=Operation,name=" + ObjectName.quote(name)));
+        } catch (JMException e) {
+            log.warn("Could not register MBean for operation {}", name, e);
+        }
+        return stats;
+    }
+
+    /**
+     * @return multi-line summary of all operations and connection pools
+     */
+    public static String summary() {
+        var summary = new StringBuilder("Statistics:");
+        OPERATIONS.values().stream()
+                .filter(OperationStats::hasRecordings)
+                .forEach(stats -> summary.append(System.lineSeparator()).append(stats.summary()));
+        MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+        try {
+            for (ObjectName pool : mBeanServer.queryNames(new ObjectName("com.zaxxer.hikari:type=Pool (*"), null)) {
+                summary.append(System.lineSeparator()).append(pool.getKeyProperty("type")).append(':');
+                for (var attribute : mBeanServer.getAttributes(pool, POOL_ATTRIBUTES).asList()) {
+                    summary.append(' ').append(attribute.getName()).append('=').append(attribute.getValue());
+                }
+            }
+        } catch (JMException e) {
+            log.warn("Could not read connection pool statistics", e);
+        }
+        return summary.toString();
+    }
+
+    /**
+     * Prints the {@link #summary()} when the JVM exits (including exits through {@link System#exit(int)}).
+     *
+     * @param out
+     *         stream to print to
+     */
+    public static void printSummaryOnExit(PrintStream out) {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> out.println(summary()), "keyword-metrics-summary"));
+    }
+
+}
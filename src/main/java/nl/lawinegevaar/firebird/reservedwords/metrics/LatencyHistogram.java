@@ -0,0 +1,68 @@
+package nl.lawinegevaar.firebird.reservedwords.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram of latencies with power-of-two microsecond buckets.
+ * <p>
+ * Recording is lock-free; percentiles are approximated by the upper bound of their bucket (capped at the maximum), so
+ * they are accurate within a factor of two, which is enough to tell a slow round trip from a slow commit.
+ * </p>
+ */
+final class LatencyHistogram {
+
+    private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+        long micros = Math.max(0, nanos / 1000);
+        buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(micros));
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    double meanMillis() {
+        long count = count();
+        return count == 0 ? 0 : totalNanos() / 1e6 / count;
+    }
+
+    double maxMillis() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /**
+     * @param percentile
+     *         percentile (eg {@code 0.95})
+     * @return approximate latency in milliseconds of the percentile, or {@code 0} if nothing was recorded
+     */
+    double percentileMillis(double percentile) {
+        long count = count();
+        if (count == 0) {
+            return 0;
+        }
+        long threshold = (long) Math.ceil(count * percentile);
+        long cumulative = 0;
+        for (int bucket = 0; bucket < buckets.length(); bucket++) {
+            cumulative += buckets.get(bucket);
+            if (cumulative >= threshold) {
+                // bucket n holds latencies below 2^n microseconds
+                return Math.min(Math.scalb(1.0, bucket) / 1000, maxMillis());
+            }
+        }
+        return maxMillis();
+    }
+
+}
@@ -0,0 +1,232 @@
+package nl.lawinegevaar.firebird.reservedwords.metrics;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latencies of a keyword operation (eg a loader class), obtained from
+ * {@link KeywordMetrics#forOperation(String)}.
+ * <p>
+ * Instances are thread-safe.
+ * </p>
+ */
+public final class OperationStats implements OperationStatsMXBean {
+
+    private final String name;
+    private final LongAdder rowCount = new LongAdder();
+    private final LongAdder updateCount = new LongAdder();
+    private final LatencyHistogram batchLatency = new LatencyHistogram();
+    private final LatencyHistogram readLatency = new LatencyHistogram();
+    private final LatencyHistogram commitLatency = new LatencyHistogram();
+    private final LatencyHistogram connectionLatency = new LatencyHistogram();
+    private final LatencyHistogram requestLatency = new LatencyHistogram();
+
+    OperationStats(String name) {
+        this.name = name;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Records an executed batch or statement.
+     *
+     * @param rows
+     *         number of rows in the batch
+     * @param updates
+     *         number of rows changed, as reported by the database
+     * @param nanos
+     *         execution time in nanoseconds
+     */
+    public void recordBatch(int rows, int updates, long nanos) {
+        rowCount.add(rows);
+        updateCount.add(updates);
+        batchLatency.record(nanos);
+    }
+
+    /**
+     * Records time spent reading or parsing keywords.
+     *
+     * @param nanos
+     *         time in nanoseconds
+     */
+    public void recordRead(long nanos) {
+        readLatency.record(nanos);
+    }
+
+    /**
+     * Records a handled request (eg of the keyword server).
+     *
+     * @param nanos
+     *         time from receiving the request until the response was sent, in nanoseconds
+     */
+    public void recordRequest(long nanos) {
+        requestLatency.record(nanos);
+    }
+
+    /**
+     * Obtains a connection, recording the time it took.
+     *
+     * @param dataSource
+     *         data source
+     * @return connection
+     * @throws SQLException
+     *         for errors obtaining the connection
+     */
+    public Connection getConnection(DataSource dataSource) throws SQLException {
+        long start = System.nanoTime();
+        Connection connection = dataSource.getConnection();
+        connectionLatency.record(System.nanoTime() - start);
+        return connection;
+    }
+
+    /**
+     * Commits a connection, recording the time it took.
+     *
+     * @param connection
+     *         connection
+     * @throws SQLException
+     *         for errors committing
+     */
+    public void commit(Connection connection) throws SQLException {
+        long start = System.nanoTime();
+        connection.commit();
+        commitLatency.record(System.nanoTime() - start);
+    }
+
+    @Override
+    public long getRowCount() {
+        return rowCount.sum();
+    }
+
+    @Override
+    public long getUpdateCount() {
+        return updateCount.sum();
+    }
+
+    @Override
+    public long getBatchCount() {
+        return batchLatency.count();
+    }
+
+    @Override
+    public double getRowsPerSecond() {
+        long nanos = batchLatency.totalNanos();
+        return nanos == 0 ? 0 : getRowCount() * 1e9 / nanos;
+    }
+
+    @Override
+    public double getBatchLatencyMeanMillis() {
+        return batchLatency.meanMillis();
+    }
+
+    @Override
+    public double getBatchLatencyP95Millis() {
+        return batchLatency.percentileMillis(0.95);
+    }
+
+    @Override
+    public double getBatchLatencyMaxMillis() {
+        return batchLatency.maxMillis();
+    }
+
+    @Override
+    public double getReadTimeMillis() {
+        return readLatency.totalNanos() / 1e6;
+    }
+
+    @Override
+    public long getCommitCount() {
+        return commitLatency.count();
+    }
+
+    @Override
+    public double getCommitLatencyMeanMillis() {
+        return commitLatency.meanMillis();
+    }
+
+    @Override
+    public double getCommitLatencyMaxMillis() {
+        return commitLatency.maxMillis();
+    }
+
+    @Override
+    public long getConnectionCount() {
+        return connectionLatency.count();
+    }
+
+    @Override
+    public double getConnectionAcquisitionMeanMillis() {
+        return connectionLatency.meanMillis();
+    }
+
+    @Override
+    public double getConnectionAcquisitionMaxMillis() {
+        return connectionLatency.maxMillis();
+    }
+
+    @Override
+    public long getRequestCount() {
+        return requestLatency.count();
+    }
+
+    @Override
+    public double getRequestLatencyMeanMillis() {
+        return requestLatency.meanMillis();
+    }
+
+    @Override
+    public double getRequestLatencyP99Millis() {
+        return requestLatency.percentileMillis(0.99);
+    }
+
+    @Override
+    public double getRequestLatencyMaxMillis() {
+        return requestLatency.maxMillis();
+    }
+
+    /**
+     * @return {@code true} if anything was recorded
+     */
+    boolean hasRecordings() {
+        return getBatchCount() > 0 || readLatency.count() > 0 || getCommitCount() > 0 || getConnectionCount() > 0
+                || getRequestCount() > 0;
+    }
+
+    /**
+     * @return multi-line summary of the recorded statistics, omitting phases without recordings
+     */
+    String summary() {
+        var summary = new StringBuilder(name).append(':');
+        if (getBatchCount() > 0) {
+            summary.append(String.format(Locale.ROOT,
+                    "%n  execute: %d rows in %d batches, %d updated, %.0f rows/s; "
+                            + "latency mean %.2f ms, p95 %.2f ms, max %.2f ms",
+                    getRowCount(), getBatchCount(), getUpdateCount(), getRowsPerSecond(),
+                    getBatchLatencyMeanMillis(), getBatchLatencyP95Millis(), getBatchLatencyMaxMillis()));
+        }
+        if (readLatency.count() > 0) {
+            summary.append(String.format(Locale.ROOT, "%n  read: %.2f ms", getReadTimeMillis()));
+        }
+        if (getCommitCount() > 0) {
+            summary.append(String.format(Locale.ROOT, "%n  commit: %d, mean %.2f ms, max %.2f ms",
+                    getCommitCount(), getCommitLatencyMeanMillis(), getCommitLatencyMaxMillis()));
+        }
+        if (getConnectionCount() > 0) {
+            summary.append(String.format(Locale.ROOT, "%n  connection acquisition: %d, mean %.2f ms, max %.2f ms",
+                    getConnectionCount(), getConnectionAcquisitionMeanMillis(),
+                    getConnectionAcquisitionMaxMillis()));
+        }
+        if (getRequestCount() > 0) {
+            summary.append(String.format(Locale.ROOT, "%n  requests: %d, mean %.3f ms, p99 %.3f ms, max %.2f ms",
+                    getRequestCount(), getRequestLatencyMeanMillis(), getRequestLatencyP99Millis(),
+                    getRequestLatencyMaxMillis()));
+        }
+        return summary.toString();
+    }
+
+}
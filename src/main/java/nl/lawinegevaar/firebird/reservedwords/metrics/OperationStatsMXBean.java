@@ -0,0 +1,62 @@
+package nl.lawinegevaar.firebird.reservedwords.metrics;
+
+/**
+ * JMX view of the statistics of a keyword operation (see {@link OperationStats}).
+ */
+public interface OperationStatsMXBean {
+
+    /**
+     * @return number of rows (keywords) passed to executed batches or statements
+     */
+    long getRowCount();
+
+    /**
+     * @return number of rows inserted, updated or deleted, as reported by the database
+     */
+    long getUpdateCount();
+
+    /**
+     * @return number of executed batches or statements (database round trips for execution)
+     */
+    long getBatchCount();
+
+    /**
+     * @return rows per second of execution time
+     */
+    double getRowsPerSecond();
+
+    double getBatchLatencyMeanMillis();
+
+    double getBatchLatencyP95Millis();
+
+    double getBatchLatencyMaxMillis();
+
+    /**
+     * @return total time spent reading and parsing keywords (including waiting for the next chunk)
+     */
+    double getReadTimeMillis();
+
+    long getCommitCount();
+
+    double getCommitLatencyMeanMillis();
+
+    double getCommitLatencyMaxMillis();
+
+    long getConnectionCount();
+
+    double getConnectionAcquisitionMeanMillis();
+
+    double getConnectionAcquisitionMaxMillis();
+
+    /**
+     * @return number of handled requests (eg of the keyword server)
+     */
+    long getRequestCount();
+
+    double getRequestLatencyMeanMillis();
+
+    double getRequestLatencyP99Millis();
+
+    double getRequestLatencyMaxMillis();
+
+}
@@ -0,0 +1,50 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordChange;
+
+import java.io.IOException;
+
+/**
+ * Writes a report as CSV, with a header and one row per change.
+ * <p>
+ * Words and versions never contain commas or quotes, so values are not quoted.
+ * </p>
+ */
+final class CsvReportWriter implements ReportWriter {
+
+    private final Appendable out;
+    private ReportVersion from;
+    private ReportVersion to;
+
+    CsvReportWriter(Appendable out) throws IOException {
+        this.out = out;
+        out.append("from,to,word,change,reserved\n");
+    }
+
+    @Override
+    public void startComparison(ReportVersion from, ReportVersion to) {
+        this.from = from;
+        this.to = to;
+    }
+
+    @Override
+    public void change(KeywordChange change) throws IOException {
+        out.append(from.id()).append(',')
+                .append(to.id()).append(',')
+                .append(change.word()).append(',')
+                .append(change.type().label()).append(',')
+                .append(String.valueOf(change.reserved())).append('\n');
+    }
+
+    @Override
+    public void endComparison() {
+        from = null;
+        to = null;
+    }
+
+    @Override
+    public void finish() {
+        // nothing to write
+    }
+
+}
@@ -0,0 +1,146 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.CommandLines;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import org.apache.commons.cli.*;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Reports the words added, removed, newly reserved and newly non-reserved between two versions, or between all
+ * versions (see {@link KeywordReport}).
+ */
+@Slf4j
+public class GenerateKeywordReport {
+
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        boolean fromTo = commandLine.hasOption("from") && commandLine.hasOption("to");
+        boolean fromOrTo = commandLine.hasOption("from") || commandLine.hasOption("to");
+        if (commandLine.hasOption("all") ? fromOrTo : !fromTo) {
+            System.err.println("Invalid command line: either options --from and --to, or option --all is required");
+            printUsage();
+            System.exit(-1);
+        }
+        final ReportFormat format = getFormat(commandLine);
+
+        KeywordCatalog catalog = CommandLines.loadCatalog(commandLine);
+        List<KeywordReport.Comparison> comparisons = commandLine.hasOption("all")
+                ? KeywordReport.matrix(catalog)
+                : List.of(new KeywordReport.Comparison(getVersion(commandLine, "from"), getVersion(commandLine, "to")));
+
+        long start = System.nanoTime();
+        try {
+            if (commandLine.hasOption("o")) {
+                try (Writer out = Files.newBufferedWriter(Path.of(commandLine.getOptionValue("o")))) {
+                    new KeywordReport(catalog).write(comparisons, format.open(out));
+                }
+            } else {
+                Writer out = new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+                new KeywordReport(catalog).write(comparisons, format.open(out));
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not write report", e);
+        }
+        log.info("Reported {} comparisons in {} ms", comparisons.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static ReportFormat getFormat(CommandLine commandLine) {
+        if (!commandLine.hasOption("f")) {
+            return ReportFormat.MARKDOWN;
+        }
+        try {
+            return ReportFormat.of(commandLine.getOptionValue("f"));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid command line: unknown format " + commandLine.getOptionValue("f"));
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static ReportVersion getVersion(CommandLine commandLine, String option) {
+        try {
+            return ReportVersion.parse(commandLine.getOptionValue(option));
+        } catch (IllegalArgumentException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("GenerateKeywordReport", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder()
+                        .longOpt("from")
+                        .hasArg().argName("VERSION")
+                        .desc("Source version: Firebird version (x.y, eg 4.0) or SQL standard version (sql:yyyy, "
+                                + "eg sql:2003)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("to")
+                        .hasArg().argName("VERSION")
+                        .desc("Target version: Firebird version (x.y, eg 5.0) or SQL standard version (sql:yyyy, "
+                                + "eg sql:2016)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("all")
+                        .desc("Reports all Firebird versions against each later Firebird version and against each "
+                                + "SQL standard version, instead of --from and --to")
+                        .build())
+                .addOption(Option.builder("f")
+                        .longOpt("format")
+                        .hasArg().argName("FORMAT")
+                        .desc("Report format: CSV, JSON or MARKDOWN (default: MARKDOWN)")
+                        .build())
+                .addOption(Option.builder("o")
+                        .longOpt("output")
+                        .hasArg().argName("FILENAME")
+                        .desc("File to write the report to (default: standard output)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Reads the keywords from the local files written by PopulateAllKeywords --store-dir "
+                                + "instead of the keywords database")
+                        .build());
+    }
+
+}
@@ -0,0 +1,76 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordChange;
+
+import java.io.IOException;
+
+/**
+ * Writes a report as a JSON array with an object per comparison.
+ * <pre>
+ * [
+ *   {"from": "fb:4.0", "to": "fb:5.0", "changes": [
+ *     {"word": "ANY_VALUE", "change": "added", "reserved": false}
+ *   ]}
+ * ]
+ * </pre>
+ * <p>
+ * Words are upper case ASCII, so only quotes and backslashes are escaped.
+ * </p>
+ */
+final class JsonReportWriter implements ReportWriter {
+
+    private final Appendable out;
+    private boolean firstComparison = true;
+    private boolean firstChange;
+
+    JsonReportWriter(Appendable out) throws IOException {
+        this.out = out;
+        out.append('[');
+    }
+
+    @Override
+    public void startComparison(ReportVersion from, ReportVersion to) throws IOException {
+        out.append(firstComparison ? "\n" : ",\n");
+        firstComparison = false;
+        out.append("  {\"from\": ");
+        appendString(from.id());
+        out.append(", \"to\": ");
+        appendString(to.id());
+        out.append(", \"changes\": [");
+        firstChange = true;
+    }
+
+    @Override
+    public void change(KeywordChange change) throws IOException {
+        out.append(firstChange ? "\n" : ",\n");
+        firstChange = false;
+        out.append("    {\"word\": ");
+        appendString(change.word());
+        out.append(", \"change\": ");
+        appendString(change.type().label());
+        out.append(", \"reserved\": ").append(String.valueOf(change.reserved())).append('}');
+    }
+
+    @Override
+    public void endComparison() throws IOException {
+        out.append(firstChange ? "]}" : "\n  ]}");
+    }
+
+    @Override
+    public void finish() throws IOException {
+        out.append(firstComparison ? "]\n" : "\n]\n");
+    }
+
+    private void appendString(String value) throws IOException {
+        out.append('"');
+        for (int idx = 0; idx < value.length(); idx++) {
+            char c = value.charAt(idx);
+            if (c == '"' || c == '\\') {
+                out.append('\\');
+            }
+            out.append(c);
+        }
+        out.append('"');
+    }
+
+}
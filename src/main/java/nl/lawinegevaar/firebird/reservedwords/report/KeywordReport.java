@@ -0,0 +1,104 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordSet;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reports the words added, removed, newly reserved and newly non-reserved between versions of a
+ * {@link KeywordCatalog}.
+ * <p>
+ * Each comparison is a merge-join over the sorted words of the two versions (see
+ * {@link KeywordSet#forEachChange(KeywordSet, java.util.function.Consumer)}), streamed to a {@link ReportWriter} in
+ * word order; no per-version queries are needed.
+ * </p>
+ */
+public final class KeywordReport {
+
+    private final KeywordCatalog catalog;
+
+    public KeywordReport(KeywordCatalog catalog) {
+        this.catalog = catalog;
+    }
+
+    /**
+     * Writes a report of the comparisons.
+     *
+     * @param comparisons
+     *         comparisons to report, in report order
+     * @param writer
+     *         report writer
+     * @throws IOException
+     *         for errors writing the report
+     * @throws KeywordProcessingException
+     *         if the catalog has no keywords for a version of the comparisons (checked before writing the report)
+     */
+    public void write(List<Comparison> comparisons, ReportWriter writer) throws IOException {
+        var keywordSets = new ArrayList<KeywordSet>(2 * comparisons.size());
+        for (Comparison comparison : comparisons) {
+            keywordSets.add(getKeywords(comparison.from()));
+            keywordSets.add(getKeywords(comparison.to()));
+        }
+        try {
+            for (int idx = 0; idx < comparisons.size(); idx++) {
+                Comparison comparison = comparisons.get(idx);
+                writer.startComparison(comparison.from(), comparison.to());
+                keywordSets.get(2 * idx).forEachChange(keywordSets.get(2 * idx + 1), change -> {
+                    try {
+                        writer.change(change);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+                writer.endComparison();
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+    }
+
+    private KeywordSet getKeywords(ReportVersion version) {
+        return version.keywords(catalog)
+                .orElseThrow(() -> new KeywordProcessingException("No keywords for " + version));
+    }
+
+    /**
+     * @return comparisons of each Firebird version with all later Firebird versions, followed by comparisons of each
+     * Firebird version with each SQL standard version
+     */
+    public static List<Comparison> matrix(KeywordCatalog catalog) {
+        List<BigDecimal> firebirdVersions = new ArrayList<>(catalog.firebirdVersions());
+        var comparisons = new ArrayList<Comparison>();
+        for (int fromIdx = 0; fromIdx < firebirdVersions.size(); fromIdx++) {
+            for (int toIdx = fromIdx + 1; toIdx < firebirdVersions.size(); toIdx++) {
+                comparisons.add(new Comparison(ReportVersion.firebird(firebirdVersions.get(fromIdx)),
+                        ReportVersion.firebird(firebirdVersions.get(toIdx))));
+            }
+        }
+        for (BigDecimal firebirdVersion : firebirdVersions) {
+            for (int sqlVersion : catalog.sqlVersions()) {
+                comparisons.add(new Comparison(ReportVersion.firebird(firebirdVersion), ReportVersion.sql(sqlVersion)));
+            }
+        }
+        return comparisons;
+    }
+
+    /**
+     * Comparison of two versions.
+     *
+     * @param from
+     *         source version
+     * @param to
+     *         target version
+     */
+    public record Comparison(ReportVersion from, ReportVersion to) {
+    }
+
+}
@@ -0,0 +1,54 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordChange;
+
+import java.io.IOException;
+
+/**
+ * Writes a report as Markdown, with a section and table per comparison.
+ */
+final class MarkdownReportWriter implements ReportWriter {
+
+    private final Appendable out;
+    private boolean firstComparison = true;
+    private boolean hasChanges;
+
+    MarkdownReportWriter(Appendable out) {
+        this.out = out;
+    }
+
+    @Override
+    public void startComparison(ReportVersion from, ReportVersion to) throws IOException {
+        if (!firstComparison) {
+            out.append('\n');
+        }
+        firstComparison = false;
+        out.append("## ").append(from.displayName()).append(" to ").append(to.displayName()).append("\n\n");
+        hasChanges = false;
+    }
+
+    @Override
+    public void change(KeywordChange change) throws IOException {
+        if (!hasChanges) {
+            out.append("| Word | Change | Reserved |\n")
+                    .append("|------|--------|----------|\n");
+            hasChanges = true;
+        }
+        out.append("| ").append(change.word())
+                .append(" | ").append(change.type().label())
+                .append(" | ").append(change.reserved() ? "yes" : "no").append(" |\n");
+    }
+
+    @Override
+    public void endComparison() throws IOException {
+        if (!hasChanges) {
+            out.append("No changes.\n");
+        }
+    }
+
+    @Override
+    public void finish() {
+        // nothing to write
+    }
+
+}
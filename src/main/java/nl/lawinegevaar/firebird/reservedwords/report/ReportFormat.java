@@ -0,0 +1,50 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import java.io.IOException;
+import java.util.Locale;
+
+/**
+ * Output format of a keyword report.
+ */
+public enum ReportFormat {
+
+    CSV {
+        @Override
+        public ReportWriter open(Appendable out) throws IOException {
+            return new CsvReportWriter(out);
+        }
+    },
+    JSON {
+        @Override
+        public ReportWriter open(Appendable out) throws IOException {
+            return new JsonReportWriter(out);
+        }
+    },
+    MARKDOWN {
+        @Override
+        public ReportWriter open(Appendable out) {
+            return new MarkdownReportWriter(out);
+        }
+    };
+
+    /**
+     * @param out
+     *         output of the report
+     * @return report writer to {@code out}
+     * @throws IOException
+     *         for errors writing the start of the report
+     */
+    public abstract ReportWriter open(Appendable out) throws IOException;
+
+    /**
+     * @param name
+     *         name of the format, ignoring case
+     * @return report format
+     * @throws IllegalArgumentException
+     *         if there is no report format with that name
+     */
+    public static ReportFormat of(String name) {
+        return valueOf(name.toUpperCase(Locale.ROOT));
+    }
+
+}
@@ -0,0 +1,84 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordSet;
+
+import java.math.BigDecimal;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Firebird or SQL standard version compared in a report.
+ *
+ * @param firebirdVersion
+ *         Firebird version, or {@code null} for a SQL standard version
+ * @param sqlVersion
+ *         SQL standard version, or {@code null} for a Firebird version
+ */
+public record ReportVersion(BigDecimal firebirdVersion, Integer sqlVersion) {
+
+    public ReportVersion {
+        if ((firebirdVersion == null) == (sqlVersion == null)) {
+            throw new IllegalArgumentException("Exactly one of firebirdVersion and sqlVersion is required");
+        }
+    }
+
+    public static ReportVersion firebird(BigDecimal firebirdVersion) {
+        return new ReportVersion(firebirdVersion, null);
+    }
+
+    public static ReportVersion sql(int sqlVersion) {
+        return new ReportVersion(null, sqlVersion);
+    }
+
+    /**
+     * Parses a version.
+     *
+     * @param version
+     *         Firebird version ({@code x.y} or {@code fb:x.y}, eg {@code 5.0}), or SQL standard version
+     *         ({@code sql:yyyy}, eg {@code sql:2003})
+     * @return version
+     * @throws IllegalArgumentException
+     *         if {@code version} is not a valid version
+     */
+    public static ReportVersion parse(String version) {
+        String lowerCaseVersion = version.trim().toLowerCase(Locale.ROOT);
+        try {
+            if (lowerCaseVersion.startsWith("sql:")) {
+                return sql(Integer.parseInt(lowerCaseVersion.substring(4)));
+            }
+            return firebird(new BigDecimal(lowerCaseVersion.startsWith("fb:")
+                    ? lowerCaseVersion.substring(3)
+                    : lowerCaseVersion));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid version: " + version, e);
+        }
+    }
+
+    /**
+     * @return keywords of this version in {@code catalog}, empty if the catalog has no keywords for this version
+     */
+    public Optional<KeywordSet> keywords(KeywordCatalog catalog) {
+        return firebirdVersion != null ? catalog.firebird(firebirdVersion) : catalog.sql(sqlVersion);
+    }
+
+    /**
+     * @return identifier of the version, as accepted by {@link #parse(String)} (eg {@code fb:5.0} or {@code sql:2003})
+     */
+    public String id() {
+        return firebirdVersion != null ? "fb:" + firebirdVersion.toPlainString() : "sql:" + sqlVersion;
+    }
+
+    /**
+     * @return display name of the version (eg {@code Firebird 5.0} or {@code SQL:2003})
+     */
+    public String displayName() {
+        return firebirdVersion != null ? "Firebird " + firebirdVersion.toPlainString() : "SQL:" + sqlVersion;
+    }
+
+    @Override
+    public String toString() {
+        return displayName();
+    }
+
+}
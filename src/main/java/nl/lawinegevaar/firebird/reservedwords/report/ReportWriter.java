@@ -0,0 +1,25 @@
+package nl.lawinegevaar.firebird.reservedwords.report;
+
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordChange;
+
+import java.io.IOException;
+
+/**
+ * Streaming writer of a keyword report.
+ * <p>
+ * A report consists of one or more comparisons, each started with {@link #startComparison(ReportVersion,
+ * ReportVersion)}, followed by its changes in word order, and ended with {@link #endComparison()}. The report is
+ * completed with {@link #finish()}, which does not close the underlying output.
+ * </p>
+ */
+public interface ReportWriter {
+
+    void startComparison(ReportVersion from, ReportVersion to) throws IOException;
+
+    void change(KeywordChange change) throws IOException;
+
+    void endComparison() throws IOException;
+
+    void finish() throws IOException;
+
+}
@@ -0,0 +1,24 @@
+package nl.lawinegevaar.firebird.reservedwords.scan;
+
+import java.nio.file.Path;
+
+/**
+ * Bare identifier in a SQL script that is a reserved word in the target Firebird version.
+ *
+ * @param file
+ *         script file
+ * @param line
+ *         line of the word (1-based)
+ * @param column
+ *         column of the word (1-based)
+ * @param word
+ *         word as written in the script
+ */
+public record ReservedWordFinding(Path file, int line, int column, String word) {
+
+    @Override
+    public String toString() {
+        return file + ":" + line + ":" + column + ": " + word;
+    }
+
+}
@@ -0,0 +1,147 @@
+package nl.lawinegevaar.firebird.reservedwords.scan;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordLookup;
+
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Scans SQL scripts for bare identifiers that are newly reserved words in a target Firebird version.
+ * <p>
+ * Only words that are reserved in the target version but not in the source version are reported: the lexer cannot
+ * tell keywords from identifiers, and words reserved in both versions are either used as keywords, or already quoted
+ * in a working script.
+ * </p>
+ * <p>
+ * Findings are passed on as soon as they are found, so memory use does not depend on the number or size of the
+ * scripts.
+ * </p>
+ */
+@Slf4j
+public final class ReservedWordScanner {
+
+    private final KeywordLookup targetKeywords;
+    private final KeywordLookup sourceKeywords;
+    private final Charset charset;
+
+    /**
+     * @param targetKeywords
+     *         keywords of the target version
+     * @param sourceKeywords
+     *         keywords of the source version
+     * @param charset
+     *         character set of the scripts
+     */
+    public ReservedWordScanner(KeywordLookup targetKeywords, KeywordLookup sourceKeywords, Charset charset) {
+        this.targetKeywords = Objects.requireNonNull(targetKeywords, "targetKeywords");
+        this.sourceKeywords = Objects.requireNonNull(sourceKeywords, "sourceKeywords");
+        this.charset = charset;
+    }
+
+    /**
+     * Scans a single script.
+     *
+     * @param file
+     *         script file
+     * @param consumer
+     *         consumer of the findings, in order of occurrence
+     * @throws KeywordProcessingException
+     *         for errors reading the file
+     */
+    public void scan(Path file, Consumer<? super ReservedWordFinding> consumer) throws KeywordProcessingException {
+        try (Reader reader = new InputStreamReader(Files.newInputStream(file), charset)) {
+            scan(file, reader, consumer);
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Script file not found or other IO error: " + file, e);
+        }
+    }
+
+    /**
+     * Scans a script from a reader.
+     *
+     * @param file
+     *         script file, for reporting
+     * @param reader
+     *         reader of the script (not closed)
+     * @param consumer
+     *         consumer of the findings, in order of occurrence
+     * @throws IOException
+     *         for errors reading the script
+     */
+    public void scan(Path file, Reader reader, Consumer<? super ReservedWordFinding> consumer) throws IOException {
+        new SqlScriptLexer(reader).scan((chars, length, line, column) -> {
+            if (targetKeywords.isReserved(chars, 0, length) && !sourceKeywords.isReserved(chars, 0, length)) {
+                consumer.accept(new ReservedWordFinding(file, line, column, chars.subSequence(0, length).toString()));
+            }
+        });
+    }
+
+    /**
+     * Scans scripts concurrently.
+     * <p>
+     * At most {@code threads} files are scanned at the same time, and the next file is only started when a file is
+     * done. Findings are passed to {@code consumer} on the scanning threads, as soon as they are found: the findings
+     * of a file are in order of occurrence, but findings of different files are interleaved, so {@code consumer}
+     * must be thread-safe. After the first failure, no more files are started.
+     * </p>
+     *
+     * @param files
+     *         script files
+     * @param threads
+     *         maximum number of files scanned concurrently
+     * @param consumer
+     *         thread-safe consumer of the findings
+     * @throws KeywordProcessingException
+     *         for errors reading a file, or if interrupted
+     */
+    public void scanAll(List<Path> files, int threads, Consumer<? super ReservedWordFinding> consumer)
+            throws KeywordProcessingException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        var inFlight = new Semaphore(threads);
+        var failure = new AtomicReference<Throwable>();
+        try {
+            for (Path file : files) {
+                inFlight.acquire();
+                if (failure.get() != null) {
+                    break;
+                }
+                executor.execute(() -> {
+                    try {
+                        scan(file, consumer);
+                    } catch (RuntimeException | Error e) {
+                        failure.compareAndSet(null, e);
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+            // wait for the files still being scanned
+            inFlight.acquire(threads);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeywordProcessingException("Interrupted while scanning scripts", e);
+        } finally {
+            executor.shutdownNow();
+        }
+        Throwable cause = failure.get();
+        if (cause instanceof KeywordProcessingException kpe) {
+            throw kpe;
+        } else if (cause != null) {
+            throw new KeywordProcessingException("Scanning scripts failed", cause);
+        }
+    }
+
+}
@@ -0,0 +1,155 @@
+package nl.lawinegevaar.firebird.reservedwords.scan;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.CommandLines;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordLookup;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * Scans SQL scripts for bare identifiers that are newly reserved words in a target Firebird version (see
+ * {@link ReservedWordScanner}), printing a line per finding.
+ */
+@Slf4j
+public class ScanSqlScripts {
+
+    private static final String DEFAULT_EXTENSION = "sql";
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        if (!commandLine.hasOption("t") || !commandLine.hasOption("from") || commandLine.getArgList().isEmpty()) {
+            System.err.println("Invalid command line: options --from, -t or --to, and at least one file or directory "
+                    + "are required");
+            printUsage();
+            System.exit(-1);
+        }
+        final BigDecimal targetVersion = new BigDecimal(commandLine.getOptionValue("t"));
+        final BigDecimal sourceVersion = new BigDecimal(commandLine.getOptionValue("from"));
+        final Charset charset = Charset.forName(commandLine.getOptionValue("charset", StandardCharsets.UTF_8.name()));
+        final int threads = CommandLines.positiveIntValue(commandLine, "threads",
+                Runtime.getRuntime().availableProcessors(), ScanSqlScripts::printUsage);
+
+        Function<BigDecimal, Optional<KeywordLookup>> firebirdKeywords = CommandLines.firebirdKeywords(commandLine);
+        KeywordLookup targetKeywords = firebirdKeywords.apply(targetVersion)
+                .orElseThrow(() -> new KeywordProcessingException("No keywords for Firebird " + targetVersion));
+        KeywordLookup sourceKeywords = firebirdKeywords.apply(sourceVersion)
+                .orElseThrow(() -> new KeywordProcessingException("No keywords for Firebird " + sourceVersion));
+
+        List<Path> files = findFiles(commandLine.getArgList(), "." + commandLine.getOptionValue("extension",
+                DEFAULT_EXTENSION));
+        var scanner = new ReservedWordScanner(targetKeywords, sourceKeywords, charset);
+        long start = System.nanoTime();
+        var findingCount = new LongAdder();
+        scanner.scanAll(files, threads, finding -> {
+            // a single println per finding, so lines of concurrently scanned files are not mixed up
+            System.out.println(finding);
+            findingCount.increment();
+        });
+        log.info("Scanned {} files with {} threads in {} ms", files.size(), threads,
+                (System.nanoTime() - start) / 1_000_000);
+        System.out.printf("%d newly reserved words of Firebird %s (not reserved in %s) found in %d files%n",
+                findingCount.sum(), targetVersion, sourceVersion, files.size());
+    }
+
+    private static List<Path> findFiles(List<String> paths, String extension) {
+        var files = new ArrayList<Path>();
+        for (String pathName : paths) {
+            Path path = Path.of(pathName);
+            if (!Files.isDirectory(path)) {
+                files.add(path);
+                continue;
+            }
+            try (Stream<Path> directoryFiles = Files.walk(path)) {
+                directoryFiles
+                        .filter(file -> Files.isRegularFile(file)
+                                && file.getFileName().toString().toLowerCase().endsWith(extension))
+                        .sorted()
+                        .forEach(files::add);
+            } catch (IOException e) {
+                throw new KeywordProcessingException("Could not list directory " + path, e);
+            }
+        }
+        return files;
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("ScanSqlScripts [options] FILE_OR_DIRECTORY...", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder("t")
+                        .longOpt("to")
+                        .hasArg().argName("VERSION")
+                        .desc("Target Firebird version (x.y, eg 5.0); required")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("from")
+                        .hasArg().argName("VERSION")
+                        .desc("Source Firebird version; only words that are not reserved in this version are "
+                                + "reported; required")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("snapshot")
+                        .hasArg().argName("FILENAME")
+                        .desc("Reads the keywords from a snapshot file (see ExportKeywordSnapshot) instead of the "
+                                + "database")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Reads the keywords from the local files written by PopulateAllKeywords --store-dir "
+                                + "instead of the database")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("charset")
+                        .hasArg().argName("CHARSET")
+                        .desc("Character set of the scripts (default UTF-8)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("extension")
+                        .hasArg().argName("EXTENSION")
+                        .desc("Extension of the scripts in directories (default " + DEFAULT_EXTENSION + ")")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("threads")
+                        .hasArg().argName("COUNT")
+                        .desc("Maximum number of files scanned concurrently (default: number of processors)")
+                        .build());
+    }
+
+}
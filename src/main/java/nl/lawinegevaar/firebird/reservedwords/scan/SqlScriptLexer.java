@@ -0,0 +1,212 @@
+package nl.lawinegevaar.firebird.reservedwords.scan;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Streaming lexer of Firebird SQL scripts that reports the bare (unquoted) words.
+ * <p>
+ * Comments ({@code --} and {@code /* ... *}{@code /}), string literals (including {@code q'...'} literals), quoted
+ * identifiers and numbers are skipped. Everything else, including the bodies of {@code EXECUTE BLOCK} and other PSQL,
+ * is tokenized the same way, as PSQL uses the same lexical rules. The script is read through a fixed-size buffer, so
+ * memory use does not depend on the size of the script.
+ * </p>
+ */
+final class SqlScriptLexer {
+
+    /**
+     * Receives the bare words of a script.
+     */
+    @FunctionalInterface
+    interface WordHandler {
+
+        /**
+         * @param chars
+         *         characters of the word, from index 0; only valid during the call
+         * @param length
+         *         length of the word
+         * @param line
+         *         line of the first character (1-based)
+         * @param column
+         *         column of the first character (1-based)
+         */
+        void word(CharSequence chars, int length, int line, int column);
+    }
+
+    // longer words cannot be keywords (the maximum identifier length of Firebird is 63)
+    private static final int MAX_WORD_LENGTH = 64;
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private final char[] word = new char[MAX_WORD_LENGTH];
+    private final CharBuffer wordChars = CharBuffer.wrap(word);
+    private int line = 1;
+    private int column;
+    private boolean previousCarriageReturn;
+
+    SqlScriptLexer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Reads the script to the end, reporting each bare word to {@code handler}.
+     *
+     * @param handler
+     *         handler of the words
+     * @throws IOException
+     *         for errors reading the script
+     */
+    void scan(WordHandler handler) throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '-' && peek() == '-') {
+                skipLineComment();
+            } else if (c == '/' && peek() == '*') {
+                read();
+                skipBlockComment();
+            } else if (c == '\'' || c == '"') {
+                skipQuoted((char) c);
+            } else if ((c == 'q' || c == 'Q') && peek() == '\'') {
+                read();
+                skipQString();
+            } else if (isLetter(c)) {
+                scanWord((char) c, handler);
+            } else if (c >= '0' && c <= '9') {
+                skipNumber();
+            }
+        }
+    }
+
+    private void scanWord(char first, WordHandler handler) throws IOException {
+        int wordLine = line;
+        int wordColumn = column;
+        word[0] = first;
+        int length = 1;
+        while (isIdentifierPart(peek())) {
+            char c = (char) read();
+            if (length < MAX_WORD_LENGTH) {
+                word[length] = c;
+            }
+            length++;
+        }
+        if (length <= MAX_WORD_LENGTH) {
+            handler.word(wordChars, length, wordLine, wordColumn);
+        }
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = peek()) != EOF && c != '\n' && c != '\r') {
+            read();
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == '*' && peek() == '/') {
+                read();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Skips a string literal or quoted identifier; a doubled quote is an escaped quote.
+     */
+    private void skipQuoted(char quote) throws IOException {
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == quote) {
+                if (peek() != quote) {
+                    return;
+                }
+                read();
+            }
+        }
+    }
+
+    /**
+     * Skips the remainder of a {@code q'<delimiter>...<delimiter>'} literal, after the {@code q'}.
+     */
+    private void skipQString() throws IOException {
+        int start = read();
+        if (start == EOF) {
+            return;
+        }
+        int end = switch (start) {
+            case '(' -> ')';
+            case '[' -> ']';
+            case '{' -> '}';
+            case '<' -> '>';
+            default -> start;
+        };
+        int c;
+        while ((c = read()) != EOF) {
+            if (c == end && peek() == '\'') {
+                read();
+                return;
+            }
+        }
+    }
+
+    private void skipNumber() throws IOException {
+        // also covers hexadecimal (0x...) and exponents, so their letters are not reported as words
+        while (isIdentifierPart(peek()) || peek() == '.') {
+            read();
+        }
+    }
+
+    private static boolean isLetter(int c) {
+        return c >= 'A' && c <= 'Z' || c >= 'a' && c <= 'z';
+    }
+
+    private static boolean isIdentifierPart(int c) {
+        return isLetter(c) || c >= '0' && c <= '9' || c == '_' || c == '$';
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            if (!previousCarriageReturn) {
+                line++;
+            }
+            column = 0;
+        } else if (c == '\r') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        previousCarriageReturn = c == '\r';
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return EOF;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int count;
+        do {
+            count = reader.read(buffer);
+        } while (count == 0);
+        if (count == EOF) {
+            return false;
+        }
+        position = 0;
+        limit = count;
+        return true;
+    }
+
+}
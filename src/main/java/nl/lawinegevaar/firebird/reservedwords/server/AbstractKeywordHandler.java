@@ -0,0 +1,158 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Base class of the request handlers of {@link KeywordServer}.
+ * <p>
+ * Handles errors and sends the response of {@link #respond(HttpExchange)}, recording the request latency.
+ * </p>
+ */
+@Slf4j
+abstract class AbstractKeywordHandler implements HttpHandler {
+
+    private final OperationStats stats;
+
+    AbstractKeywordHandler(OperationStats stats) {
+        this.stats = stats;
+    }
+
+    @Override
+    public final void handle(HttpExchange exchange) throws IOException {
+        long start = System.nanoTime();
+        try (exchange) {
+            Response response;
+            try {
+                response = respond(exchange);
+            } catch (RequestException e) {
+                response = Response.error(e.status(), e.getMessage());
+            } catch (RuntimeException e) {
+                log.error("Error handling {}", exchange.getRequestURI(), e);
+                response = Response.error(500, "Internal error");
+            }
+            exchange.getResponseHeaders().set("Content-Type", response.contentType());
+            byte[] body = response.body();
+            exchange.sendResponseHeaders(response.status(), body.length == 0 ? -1 : body.length);
+            exchange.getResponseBody().write(body);
+        } finally {
+            stats.recordRequest(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Creates the response of a request.
+     *
+     * @param exchange
+     *         exchange of the request (the response must not be sent)
+     * @return response
+     * @throws RequestException
+     *         for invalid requests
+     * @throws IOException
+     *         for errors reading the request
+     */
+    abstract Response respond(HttpExchange exchange) throws IOException;
+
+    /**
+     * @throws RequestException
+     *         with status 405 if the request method is not one of {@code allowedMethods}
+     */
+    static void requireMethod(HttpExchange exchange, String... allowedMethods) {
+        for (String method : allowedMethods) {
+            if (method.equals(exchange.getRequestMethod())) {
+                return;
+            }
+        }
+        exchange.getResponseHeaders().set("Allow", String.join(", ", allowedMethods));
+        throw new RequestException(405, "Method " + exchange.getRequestMethod() + " not allowed");
+    }
+
+    /**
+     * @return decoded values of query parameter {@code name}, in request order
+     */
+    static List<String> queryValues(HttpExchange exchange, String name) {
+        var values = new ArrayList<String>();
+        String query = exchange.getRequestURI().getRawQuery();
+        if (query == null) {
+            return values;
+        }
+        int start = 0;
+        while (start <= query.length()) {
+            int end = query.indexOf('&', start);
+            if (end == -1) {
+                end = query.length();
+            }
+            int separator = query.indexOf('=', start);
+            if (separator != -1 && separator < end && separator - start == name.length()
+                    && query.startsWith(name, start)) {
+                values.add(URLDecoder.decode(query.substring(separator + 1, end), StandardCharsets.UTF_8));
+            }
+            start = end + 1;
+        }
+        return values;
+    }
+
+    /**
+     * @return decoded value of query parameter {@code name}, or {@code defaultValue} if absent
+     * @throws RequestException
+     *         with status 400 if the parameter is absent and {@code defaultValue} is {@code null}, or if it occurs
+     *         more than once
+     */
+    static String queryValue(HttpExchange exchange, String name, String defaultValue) {
+        List<String> values = queryValues(exchange, name);
+        if (values.size() > 1) {
+            throw new RequestException(400, "Parameter " + name + " must occur at most once");
+        } else if (values.isEmpty()) {
+            if (defaultValue == null) {
+                throw new RequestException(400, "Parameter " + name + " is required");
+            }
+            return defaultValue;
+        }
+        return values.get(0);
+    }
+
+    /**
+     * @param maxBytes
+     *         maximum size of the body in bytes
+     * @return request body as UTF-8 text
+     * @throws RequestException
+     *         with status 413 if the body is larger than {@code maxBytes}
+     */
+    static String readBody(HttpExchange exchange, int maxBytes) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(maxBytes + 1);
+            if (body.length > maxBytes) {
+                throw new RequestException(413, "Request body larger than " + maxBytes + " bytes");
+            }
+            return new String(body, StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Appends a JSON string, escaping quotes, backslashes and control characters.
+     */
+    static StringBuilder appendJsonString(StringBuilder target, String value) {
+        target.append('"');
+        for (int idx = 0; idx < value.length(); idx++) {
+            char c = value.charAt(idx);
+            if (c == '"' || c == '\\') {
+                target.append('\\').append(c);
+            } else if (c < 0x20) {
+                target.append(String.format("\\u%04x", (int) c));
+            } else {
+                target.append(c);
+            }
+        }
+        return target.append('"');
+    }
+
+}
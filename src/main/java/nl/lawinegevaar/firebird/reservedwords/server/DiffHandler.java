@@ -0,0 +1,59 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+import nl.lawinegevaar.firebird.reservedwords.report.KeywordReport;
+import nl.lawinegevaar.firebird.reservedwords.report.ReportFormat;
+import nl.lawinegevaar.firebird.reservedwords.report.ReportVersion;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Handles {@code /diff?from=<version>&to=<version>[&format=<format>]}, a {@link KeywordReport} of two versions.
+ * <p>
+ * Versions are in the format of {@link ReportVersion#parse(String)} (eg {@code 4.0} or {@code sql:2016}), the format
+ * is {@code json} (default), {@code csv} or {@code markdown}.
+ * </p>
+ */
+final class DiffHandler extends AbstractKeywordHandler {
+
+    private final KeywordCatalog catalog;
+
+    DiffHandler(OperationStats stats, KeywordCatalog catalog) {
+        super(stats);
+        this.catalog = catalog;
+    }
+
+    @Override
+    Response respond(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET");
+        ReportVersion from = getVersion(exchange, "from");
+        ReportVersion to = getVersion(exchange, "to");
+        ReportFormat format;
+        try {
+            format = ReportFormat.of(queryValue(exchange, "format", "json"));
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(400, "Unknown format: " + queryValue(exchange, "format", "json"));
+        }
+
+        var report = new StringBuilder();
+        new KeywordReport(catalog).write(List.of(new KeywordReport.Comparison(from, to)), format.open(report));
+        return Response.ok(format == ReportFormat.JSON ? Response.JSON : Response.TEXT, report);
+    }
+
+    private ReportVersion getVersion(HttpExchange exchange, String parameter) {
+        ReportVersion version;
+        try {
+            version = ReportVersion.parse(queryValue(exchange, parameter, null));
+        } catch (IllegalArgumentException e) {
+            throw new RequestException(400, e.getMessage());
+        }
+        if (version.keywords(catalog).isEmpty()) {
+            throw new RequestException(404, "Unknown version: " + version);
+        }
+        return version;
+    }
+
+}
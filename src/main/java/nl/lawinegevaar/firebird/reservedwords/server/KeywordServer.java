@@ -0,0 +1,126 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordSet;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Embeddable HTTP service for keyword lookups and version diffs, backed by an in-memory {@link KeywordCatalog}.
+ * <p>
+ * Endpoints:
+ * </p>
+ * <ul>
+ * <li>{@code /fb/<version>/reserved?w=<word>} and {@code /fb/<version>/keyword?w=<word>}: lookups in a Firebird
+ * version (eg {@code /fb/5.0/reserved?w=SELECT&w=NAME}); see {@link LookupHandler} for batches</li>
+ * <li>{@code /sql/<version>/reserved?w=<word>} and {@code /sql/<version>/keyword?w=<word>}: lookups in a SQL
+ * standard version (eg {@code /sql/2016/reserved?w=SELECT})</li>
+ * <li>{@code /diff?from=<version>&to=<version>&format=<format>}: changes between two versions (see
+ * {@link DiffHandler})</li>
+ * <li>{@code /versions}: the versions of the catalog</li>
+ * </ul>
+ * <p>
+ * Lookups do not allocate beyond the request and response, and never block, so requests are handled by a fixed pool
+ * of threads. Request latencies are recorded in the {@code KeywordServer} operation of {@link KeywordMetrics}.
+ * </p>
+ */
+@Slf4j
+public final class KeywordServer implements AutoCloseable {
+
+    private static final OperationStats STATS = KeywordMetrics.forOperation(KeywordServer.class.getSimpleName());
+    private static final int BACKLOG = 1024;
+
+    private final HttpServer httpServer;
+    private final ExecutorService executor;
+
+    /**
+     * Creates a server; it does not accept requests until {@link #start()}.
+     *
+     * @param catalog
+     *         keyword catalog
+     * @param address
+     *         address to bind to (port {@code 0} for an ephemeral port)
+     * @param threads
+     *         number of request handling threads
+     * @throws IOException
+     *         if the server cannot bind to the address
+     */
+    public KeywordServer(KeywordCatalog catalog, InetSocketAddress address, int threads) throws IOException {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1, was " + threads);
+        }
+        var firebirdKeywords = new HashMap<String, KeywordSet>();
+        for (BigDecimal firebirdVersion : catalog.firebirdVersions()) {
+            firebirdKeywords.put(firebirdVersion.toPlainString(), catalog.firebird(firebirdVersion).orElseThrow());
+        }
+        var sqlKeywords = new HashMap<String, KeywordSet>();
+        for (int sqlVersion : catalog.sqlVersions()) {
+            sqlKeywords.put(String.valueOf(sqlVersion), catalog.sql(sqlVersion).orElseThrow());
+        }
+
+        httpServer = HttpServer.create(address, BACKLOG);
+        httpServer.createContext("/fb/", new LookupHandler(STATS, "/fb/", Map.copyOf(firebirdKeywords)));
+        httpServer.createContext("/sql/", new LookupHandler(STATS, "/sql/", Map.copyOf(sqlKeywords)));
+        httpServer.createContext("/diff", new DiffHandler(STATS, catalog));
+        httpServer.createContext("/versions", new VersionsHandler(STATS, catalog));
+        executor = Executors.newFixedThreadPool(threads, new ServerThreadFactory());
+        httpServer.setExecutor(executor);
+    }
+
+    public void start() {
+        httpServer.start();
+        log.info("Keyword server listening on {}", address());
+    }
+
+    /**
+     * @return address the server is bound to
+     */
+    public InetSocketAddress address() {
+        return httpServer.getAddress();
+    }
+
+    /**
+     * Stops the server, waiting at most one second for requests in progress.
+     */
+    @Override
+    public void close() {
+        httpServer.stop(1);
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(1, TimeUnit.SECONDS)) {
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            executor.shutdownNow();
+        }
+        log.info("Keyword server stopped");
+    }
+
+    private static final class ServerThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger threadNumber = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            var thread = new Thread(runnable, "keyword-server-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+
+    }
+
+}
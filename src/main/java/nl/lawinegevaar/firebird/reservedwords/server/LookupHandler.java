@@ -0,0 +1,97 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordSet;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import java.io.IOException;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Handles lookups of {@code /<prefix>/<version>/reserved} and {@code /<prefix>/<version>/keyword}.
+ * <p>
+ * Words are passed as query parameter {@code w} (repeated, or comma-separated), and for {@code POST} also in the
+ * body (separated by commas or whitespace). The response is a JSON object with a boolean per distinct word, in request
+ * order, for example {@code {"SELECT":true,"NAME":false}}.
+ * </p>
+ */
+final class LookupHandler extends AbstractKeywordHandler {
+
+    static final int MAX_WORDS = 10_000;
+    static final int MAX_BODY_BYTES = 1024 * 1024;
+
+    private final String prefix;
+    private final Map<String, KeywordSet> keywordSets;
+
+    /**
+     * @param prefix
+     *         context path of the handler (eg {@code /fb/})
+     * @param keywordSets
+     *         keywords by version, as in the request path
+     */
+    LookupHandler(OperationStats stats, String prefix, Map<String, KeywordSet> keywordSets) {
+        super(stats);
+        this.prefix = prefix;
+        this.keywordSets = keywordSets;
+    }
+
+    @Override
+    Response respond(HttpExchange exchange) throws IOException {
+        requireMethod(exchange, "GET", "POST");
+        String path = exchange.getRequestURI().getPath();
+        int separator = path.indexOf('/', prefix.length());
+        if (separator == -1) {
+            throw new RequestException(404, "Not found: " + path);
+        }
+        KeywordSet keywordSet = keywordSets.get(path.substring(prefix.length(), separator));
+        if (keywordSet == null) {
+            throw new RequestException(404, "Unknown version: " + path.substring(prefix.length(), separator));
+        }
+        boolean reserved = switch (path.substring(separator + 1)) {
+            case "reserved" -> true;
+            case "keyword" -> false;
+            default -> throw new RequestException(404, "Not found: " + path);
+        };
+
+        Set<String> words = getWords(exchange);
+        var json = new StringBuilder(words.size() * 24).append('{');
+        for (String word : words) {
+            if (json.length() > 1) {
+                json.append(',');
+            }
+            appendJsonString(json, word).append(':')
+                    .append(reserved ? keywordSet.isReserved(word) : keywordSet.isKeyword(word));
+        }
+        return Response.ok(Response.JSON, json.append('}'));
+    }
+
+    /**
+     * @return distinct words of the request, in request order
+     */
+    private static Set<String> getWords(HttpExchange exchange) throws IOException {
+        var words = new LinkedHashSet<String>();
+        for (String value : queryValues(exchange, "w")) {
+            addWords(words, value, ",");
+        }
+        if ("POST".equals(exchange.getRequestMethod())) {
+            addWords(words, readBody(exchange, MAX_BODY_BYTES), "[,\\s]+");
+        }
+        if (words.isEmpty()) {
+            throw new RequestException(400, "No words; use parameter w");
+        } else if (words.size() > MAX_WORDS) {
+            throw new RequestException(400, "At most " + MAX_WORDS + " words per request");
+        }
+        return words;
+    }
+
+    private static void addWords(Set<String> words, String value, String separatorRegex) {
+        for (String word : value.split(separatorRegex)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+    }
+
+}
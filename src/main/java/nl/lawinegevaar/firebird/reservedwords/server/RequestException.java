@@ -0,0 +1,19 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+/**
+ * Invalid request, answered with an error status and the exception message.
+ */
+final class RequestException extends RuntimeException {
+
+    private final int status;
+
+    RequestException(int status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    int status() {
+        return status;
+    }
+
+}
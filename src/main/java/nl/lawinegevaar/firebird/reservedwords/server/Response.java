@@ -0,0 +1,28 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Response of the keyword server.
+ *
+ * @param status
+ *         HTTP status code
+ * @param contentType
+ *         content type (including charset)
+ * @param body
+ *         body
+ */
+record Response(int status, String contentType, byte[] body) {
+
+    static final String JSON = "application/json; charset=utf-8";
+    static final String TEXT = "text/plain; charset=utf-8";
+
+    static Response ok(String contentType, CharSequence body) {
+        return new Response(200, contentType, body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Response error(int status, String message) {
+        return new Response(status, TEXT, (message + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+}
@@ -0,0 +1,107 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.CommandLines;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.CountDownLatch;
+
+/**
+ * Runs a {@link KeywordServer} until the JVM is stopped.
+ */
+@Slf4j
+public class ServeKeywords {
+
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        CommandLine commandLine = getCommandLine(args);
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            // responses are small; without TCP_NODELAY, Nagle's algorithm delays them on keep-alive connections
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+        final int port = CommandLines.positiveIntValue(commandLine, "port", 8080, ServeKeywords::printUsage);
+        if (port > 65535) {
+            System.err.println("Invalid command line: option -p or --port requires a port number up to 65535");
+            printUsage();
+            System.exit(-1);
+        }
+        final String bindAddress = commandLine.getOptionValue("bind", "127.0.0.1");
+        final int threads = CommandLines.positiveIntValue(commandLine, "threads",
+                Runtime.getRuntime().availableProcessors(), ServeKeywords::printUsage);
+        if (commandLine.hasOption("stats")) {
+            KeywordMetrics.printSummaryOnExit(System.out);
+        }
+
+        KeywordCatalog catalog = CommandLines.loadCatalog(commandLine);
+        var server = new KeywordServer(catalog, new InetSocketAddress(bindAddress, port), threads);
+        var stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            stopped.countDown();
+        }, "keyword-server-shutdown"));
+        server.start();
+        System.out.printf("Serving %d words, %d Firebird versions and %d SQL versions on http://%s:%d/%n",
+                catalog.wordCount(), catalog.firebirdVersions().size(), catalog.sqlVersions().size(),
+                server.address().getHostString(), server.address().getPort());
+        stopped.await();
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("ServeKeywords", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder("p")
+                        .longOpt("port")
+                        .hasArg().argName("PORT")
+                        .desc("Port to listen on (default: 8080)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("bind")
+                        .hasArg().argName("ADDRESS")
+                        .desc("Address to listen on (default: 127.0.0.1)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("threads")
+                        .hasArg().argName("COUNT")
+                        .desc("Number of request handling threads (default: number of processors)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Reads the keywords from the local files written by PopulateAllKeywords --store-dir "
+                                + "instead of the keywords database")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("stats")
+                        .desc("Prints request statistics on exit")
+                        .build());
+    }
+
+}
@@ -0,0 +1,41 @@
+package nl.lawinegevaar.firebird.reservedwords.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import java.math.BigDecimal;
+
+/**
+ * Handles {@code /versions}: the Firebird and SQL standard versions of the catalog, as
+ * {@code {"firebird":["2.0",...],"sql":[1999,...]}}.
+ */
+final class VersionsHandler extends AbstractKeywordHandler {
+
+    private final Response response;
+
+    VersionsHandler(OperationStats stats, KeywordCatalog catalog) {
+        super(stats);
+        var json = new StringBuilder("{\"firebird\":[");
+        String separator = "";
+        for (BigDecimal firebirdVersion : catalog.firebirdVersions()) {
+            json.append(separator);
+            appendJsonString(json, firebirdVersion.toPlainString());
+            separator = ",";
+        }
+        json.append("],\"sql\":[");
+        separator = "";
+        for (int sqlVersion : catalog.sqlVersions()) {
+            json.append(separator).append(sqlVersion);
+            separator = ",";
+        }
+        response = Response.ok(Response.JSON, json.append("]}"));
+    }
+
+    @Override
+    Response respond(HttpExchange exchange) {
+        requireMethod(exchange, "GET");
+        return response;
+    }
+
+}
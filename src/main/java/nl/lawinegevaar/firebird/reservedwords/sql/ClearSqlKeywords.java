@@ -2,6 +2,9 @@ package nl.lawinegevaar.firebird.reservedwords.sql;
 
 import lombok.extern.slf4j.Slf4j;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
 
 import javax.sql.DataSource;
 import java.sql.Connection;
@@ -11,6 +14,9 @@ import java.sql.SQLException;
 @Slf4j
 final class ClearSqlKeywords {
 
+    private static final OperationStats STATS =
+            KeywordMetrics.forOperation(ClearSqlKeywords.class.getSimpleName());
+
     private final int sqlVersion;
 
     ClearSqlKeywords(int sqlVersion) {
@@ -19,14 +25,33 @@ final class ClearSqlKeywords {
 
     void clearKeywords(DataSource dataSource) {
         log.info("Deleting all keywords for version {}", sqlVersion);
-        try (Connection connection = dataSource.getConnection();
-             PreparedStatement preparedStatement = connection.prepareStatement(
-                     "delete from SQL_KEYWORD where SQL_VERSION = ?")) {
+        try (Connection connection = STATS.getConnection(dataSource)) {
+            clearKeywords(connection);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    /**
+     * Deletes all keywords of the version using an existing connection, leaving transaction control to the caller.
+     *
+     * @param connection
+     *         connection
+     */
+    void clearKeywords(Connection connection) {
+        try (PreparedStatement preparedStatement = connection.prepareStatement(
+                "delete from SQL_KEYWORD where SQL_VERSION = ?")) {
             preparedStatement.setInt(1, sqlVersion);
-            preparedStatement.execute();
+            long start = System.nanoTime();
+            int deleteCount = preparedStatement.executeUpdate();
+            STATS.recordBatch(0, deleteCount, System.nanoTime() - start);
         } catch (SQLException e) {
             throw new KeywordProcessingException("Data-access exception", e);
         }
     }
 
+    void clearKeywords(KeywordCatalog.Builder catalogBuilder) {
+        catalogBuilder.clearSqlVersion(sqlVersion);
+    }
+
 }
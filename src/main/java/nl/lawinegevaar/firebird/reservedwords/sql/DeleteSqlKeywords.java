@@ -1,22 +1,28 @@
 package nl.lawinegevaar.firebird.reservedwords.sql;
 
 import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.ChunkedBatches;
+import nl.lawinegevaar.firebird.reservedwords.KeywordFileReader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
 
 import javax.sql.DataSource;
-import java.io.IOException;
 import java.math.BigDecimal;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.List;
 import java.util.stream.Stream;
 
 @Slf4j
 final class DeleteSqlKeywords {
 
+    private static final OperationStats STATS =
+            KeywordMetrics.forOperation(DeleteSqlKeywords.class.getSimpleName());
+
     private final int sqlVersion;
     private final String keywordsFilePath;
 
@@ -25,26 +31,14 @@ final class DeleteSqlKeywords {
         this.keywordsFilePath = keywordsFilePath;
     }
 
-    void deleteKeywords(DataSource dataSource) throws KeywordProcessingException {
+    void deleteKeywords(DataSource dataSource, BatchSettings batchSettings) throws KeywordProcessingException {
         log.info("Deleting keywords for SQL version {} from file '{}'", sqlVersion, keywordsFilePath);
-        try (Stream<String> keywordStream = getKeywordStream();
-             Connection connection = dataSource.getConnection()) {
+        try (Connection connection = STATS.getConnection(dataSource)) {
             connection.setAutoCommit(false);
-            try (PreparedStatement pstmt = connection.prepareStatement(
-                    "delete from SQL_KEYWORD where WORD = ? and SQL_VERSION = ?")) {
-
-                keywordStream.forEach(keyword -> {
-                    try {
-                        pstmt.setString(1, keyword);
-                        pstmt.setInt(2, sqlVersion);
-                        pstmt.addBatch();
-                    } catch (SQLException e) {
-                        throw new KeywordProcessingException("Could not delete keyword: " + keyword, e);
-                    }
-                });
-                pstmt.executeBatch();
-                connection.commit();
-            } catch (SQLException e) {
+            try (Stream<String> keywordStream = getKeywordStream()) {
+                deleteKeywords(connection, sqlVersion, keywordStream, batchSettings);
+                STATS.commit(connection);
+            } catch (SQLException | KeywordProcessingException e) {
                 connection.rollback();
                 throw e;
             }
@@ -53,14 +47,81 @@ final class DeleteSqlKeywords {
         }
     }
 
-    @SuppressWarnings("resource")
-    private Stream<String> getKeywordStream() throws KeywordProcessingException {
-        try {
-            return Files.lines(Path.of(keywordsFilePath), StandardCharsets.ISO_8859_1)
-                    .map(String::trim)
-                    .filter(line -> !line.isEmpty());
-        } catch (IOException e) {
-            throw new KeywordProcessingException("Keywords file not found or other IO error", e);
+    /**
+     * Deletes keywords using an existing connection, leaving transaction control to the caller.
+     *
+     * @param connection
+     *         connection (with auto-commit disabled)
+     * @param sqlVersion
+     *         version to delete from
+     * @param keywordStream
+     *         keywords to delete
+     * @param batchSettings
+     *         batch settings
+     * @throws KeywordProcessingException
+     *         for errors reading or deleting the keywords
+     */
+    static void deleteKeywords(Connection connection, int sqlVersion, Stream<String> keywordStream,
+            BatchSettings batchSettings) throws KeywordProcessingException {
+        int rowsPerStatement = batchSettings.rowsPerStatement();
+        try (PreparedStatement pstmt = connection.prepareStatement(getStatement(rowsPerStatement))) {
+            ChunkedBatches.forEachChunk(keywordStream, batchSettings, chunk -> {
+                try {
+                    long start = System.nanoTime();
+                    int deleteCount = 0;
+                    for (int statementStart = 0; statementStart < chunk.size(); statementStart += rowsPerStatement) {
+                        List<String> keywords = chunk.subList(statementStart,
+                                Math.min(chunk.size(), statementStart + rowsPerStatement));
+                        if (keywords.size() == rowsPerStatement) {
+                            setParameters(pstmt, sqlVersion, keywords);
+                            pstmt.addBatch();
+                        } else {
+                            // remainder of a chunk: a single statement with fewer keywords
+                            try (PreparedStatement remainder = connection.prepareStatement(
+                                    getStatement(keywords.size()))) {
+                                setParameters(remainder, sqlVersion, keywords);
+                                deleteCount += remainder.executeUpdate();
+                            }
+                        }
+                    }
+                    deleteCount += ChunkedBatches.totalUpdateCount(pstmt.executeBatch());
+                    STATS.recordBatch(chunk.size(), deleteCount, System.nanoTime() - start);
+                    log.info("Executed chunk of {} keywords, {} rows deleted", chunk.size(), deleteCount);
+                } catch (SQLException e) {
+                    throw new KeywordProcessingException("Could not delete keywords: " + chunk, e);
+                }
+            });
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    /**
+     * @param keywordCount
+     *         number of keywords deleted by the statement
+     * @return delete statement with a parameter per keyword, followed by the version parameter
+     */
+    private static String getStatement(int keywordCount) {
+        return keywordCount == 1
+                ? "delete from SQL_KEYWORD where WORD = ? and SQL_VERSION = ?"
+                : "delete from SQL_KEYWORD where WORD in (" + "?, ".repeat(keywordCount - 1) + "?) and SQL_VERSION = ?";
+    }
+
+    private static void setParameters(PreparedStatement pstmt, int sqlVersion, List<String> keywords)
+            throws SQLException {
+        for (int idx = 0; idx < keywords.size(); idx++) {
+            pstmt.setString(idx + 1, keywords.get(idx));
+        }
+        pstmt.setInt(keywords.size() + 1, sqlVersion);
+    }
+
+    void deleteKeywords(KeywordCatalog.Builder catalogBuilder) throws KeywordProcessingException {
+        try (Stream<String> keywordStream = getKeywordStream()) {
+            keywordStream.forEach(keyword -> catalogBuilder.removeSqlKeyword(sqlVersion, keyword));
         }
     }
+
+    Stream<String> getKeywordStream() throws KeywordProcessingException {
+        return KeywordFileReader.readKeywords(keywordsFilePath);
+    }
 }
@@ -0,0 +1,172 @@
+package nl.lawinegevaar.firebird.reservedwords.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.KeywordDiff;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.KeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.ResolvedKeywords;
+import nl.lawinegevaar.firebird.reservedwords.WriteMode;
+import nl.lawinegevaar.firebird.reservedwords.metrics.KeywordMetrics;
+import nl.lawinegevaar.firebird.reservedwords.metrics.OperationStats;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedSet;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Keyword store of the SQL standard keywords in table {@code SQL_KEYWORD} of the keywords database.
+ * <p>
+ * Each write of a version is performed in a single transaction.
+ * </p>
+ */
+@Slf4j
+public final class JdbcSqlKeywordStore implements KeywordStore<Integer> {
+
+    private final DataSource dataSource;
+    private final BatchSettings batchSettings;
+    private final OperationStats stats = KeywordMetrics.forOperation(getClass().getSimpleName());
+
+    public JdbcSqlKeywordStore(DataSource dataSource, BatchSettings batchSettings) {
+        this.dataSource = dataSource;
+        this.batchSettings = batchSettings;
+    }
+
+    @Override
+    public SortedSet<Integer> versions() throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("select distinct SQL_VERSION from SQL_KEYWORD")) {
+            var versions = new TreeSet<Integer>();
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+            return Collections.unmodifiableSortedSet(versions);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    @Override
+    public Map<String, Boolean> readKeywords(Integer sqlVersion) throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection()) {
+            return readKeywords(connection, sqlVersion);
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    @Override
+    public void write(Integer sqlVersion, ResolvedKeywords resolvedKeywords, boolean deleteAll)
+            throws KeywordProcessingException {
+        log.info("Writing resolved keywords for SQL {}", sqlVersion);
+        try (Connection connection = stats.getConnection(dataSource)) {
+            connection.setAutoCommit(false);
+            try {
+                if (batchSettings.writeMode() == WriteMode.STAGED) {
+                    writeStaged(connection, sqlVersion, resolvedKeywords, deleteAll);
+                } else {
+                    if (deleteAll) {
+                        new ClearSqlKeywords(sqlVersion).clearKeywords(connection);
+                    }
+                    mergeKeywords(connection, sqlVersion, resolvedKeywords.keywords());
+                    if (!deleteAll) {
+                        DeleteSqlKeywords.deleteKeywords(connection, sqlVersion,
+                                resolvedKeywords.deletedKeywords().stream(), batchSettings);
+                    }
+                }
+                stats.commit(connection);
+            } catch (SQLException | KeywordProcessingException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    @Override
+    public KeywordDiff sync(Integer sqlVersion, ResolvedKeywords resolvedKeywords)
+            throws KeywordProcessingException {
+        log.info("Synchronizing resolved keywords for SQL {}", sqlVersion);
+        try (Connection connection = stats.getConnection(dataSource)) {
+            connection.setAutoCommit(false);
+            try {
+                KeywordDiff diff = KeywordDiff.between(
+                        readKeywords(connection, sqlVersion), resolvedKeywords.keywords());
+                if (!diff.isEmpty()) {
+                    var changedKeywords = new TreeMap<>(diff.inserts());
+                    changedKeywords.putAll(diff.updates());
+                    if (batchSettings.writeMode() == WriteMode.STAGED) {
+                        var staged = new StagedSqlKeywords(sqlVersion, batchSettings);
+                        staged.stage(connection, changedKeywords, diff.deletes());
+                        staged.mergeStaged(connection);
+                        staged.deleteStaged(connection);
+                    } else {
+                        mergeKeywords(connection, sqlVersion, changedKeywords);
+                        if (!diff.deletes().isEmpty()) {
+                            DeleteSqlKeywords.deleteKeywords(connection, sqlVersion,
+                                    diff.deletes().stream(), batchSettings);
+                        }
+                    }
+                }
+                stats.commit(connection);
+                log.info("Synchronized SQL {}: {}", sqlVersion, diff.summary());
+                return diff;
+            } catch (SQLException | KeywordProcessingException e) {
+                connection.rollback();
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+    private static Map<String, Boolean> readKeywords(Connection connection, int sqlVersion) throws SQLException {
+        try (PreparedStatement pstmt = connection.prepareStatement(
+                "select WORD, RESERVED from SQL_KEYWORD where SQL_VERSION = ?")) {
+            pstmt.setInt(1, sqlVersion);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                var keywords = new HashMap<String, Boolean>();
+                while (rs.next()) {
+                    keywords.put(rs.getString(1), rs.getObject(2, Boolean.class));
+                }
+                return keywords;
+            }
+        }
+    }
+
+    /**
+     * Writes through the staging table: a delete of all keywords is replaced by deleting the keywords that are not
+     * staged for merge, so unchanged keywords are not deleted and inserted again.
+     */
+    private void writeStaged(Connection connection, int sqlVersion, ResolvedKeywords resolvedKeywords,
+            boolean deleteAll) {
+        var staged = new StagedSqlKeywords(sqlVersion, batchSettings);
+        staged.stage(connection, resolvedKeywords.keywords(),
+                deleteAll ? List.of() : resolvedKeywords.deletedKeywords());
+        staged.mergeStaged(connection);
+        if (deleteAll) {
+            staged.deleteNotStaged(connection);
+        } else {
+            staged.deleteStaged(connection);
+        }
+    }
+
+    private void mergeKeywords(Connection connection, int sqlVersion, Map<String, Boolean> keywords) {
+        new MergeSqlKeywords(() -> keywords.entrySet().stream()
+                .map(entry -> new SqlKeyword(entry.getKey(), sqlVersion, entry.getValue())))
+                .loadKeywords(connection, batchSettings);
+    }
+
+}
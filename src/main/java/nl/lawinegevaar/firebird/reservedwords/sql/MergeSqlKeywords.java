@@ -7,6 +7,11 @@ import java.util.stream.Stream;
 
 final class MergeSqlKeywords extends AbstractSqlKeywordLoader {
 
+    private static final String SOURCE_ROW = """
+              union all
+              select cast(? as varchar(50)), cast(? as smallint), cast(? as boolean) from RDB$DATABASE
+            """;
+
     private final Supplier<Stream<SqlKeyword>> keywordStreamSupplier;
 
     MergeSqlKeywords(Supplier<Stream<SqlKeyword>> keywordStreamSupplier) {
@@ -14,7 +19,7 @@ final class MergeSqlKeywords extends AbstractSqlKeywordLoader {
     }
 
     @Override
-    String getStatement() {
+    String getStatement(int rowCount) {
         return """
                 merge into SQL_KEYWORD
                 using (
@@ -23,13 +28,13 @@ final class MergeSqlKeywords extends AbstractSqlKeywordLoader {
                     cast(? as smallint) as SQL_VERSION,
                     cast(? as boolean) as RESERVED
                   from RDB$DATABASE
-                ) as SRC
+                %s) as SRC
                 on SQL_KEYWORD.WORD = SRC.WORD and SQL_KEYWORD.SQL_VERSION = SRC.SQL_VERSION
-                when matched and SQL_KEYWORD.RESERVED <> SRC.RESERVED then
+                when matched and SQL_KEYWORD.RESERVED is distinct from SRC.RESERVED then
                   update set RESERVED = SRC.RESERVED
                 when not matched then
                   insert (WORD, SQL_VERSION, RESERVED) values (SRC.WORD, SRC.SQL_VERSION, SRC.RESERVED)
-                """;
+                """.formatted(SOURCE_ROW.repeat(rowCount - 1));
     }
 
     @Override
@@ -0,0 +1,50 @@
+package nl.lawinegevaar.firebird.reservedwords.sql;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.ResolvedKeywords;
+
+import java.util.stream.Stream;
+
+/**
+ * Reads all input files of a SQL standard version and resolves them in memory, in the same order as the individual
+ * loaders: non-reserved keywords, reserved keywords and finally deletes.
+ */
+@Slf4j
+final class SqlKeywordResolver {
+
+    private final SqlKeywordSources sources;
+
+    SqlKeywordResolver(SqlKeywordSources sources) {
+        this.sources = sources;
+    }
+
+    ResolvedKeywords resolve() throws KeywordProcessingException {
+        int sqlVersion = sources.sqlVersion();
+        var resolvedKeywords = new ResolvedKeywords();
+        if (sources.nonReservedFile() != null) {
+            merge(resolvedKeywords, sources.nonReservedFile(), false);
+        }
+        for (String path : sources.reservedFiles()) {
+            merge(resolvedKeywords, path, true);
+        }
+        for (String path : sources.deleteKeywordsFiles()) {
+            log.info("Reading keywords to delete for SQL {} from file '{}'", sqlVersion, path);
+            try (Stream<String> keywordStream = new DeleteSqlKeywords(sqlVersion, path).getKeywordStream()) {
+                keywordStream.forEach(resolvedKeywords::delete);
+            }
+        }
+        log.info("Resolved SQL {} keywords: {}", sqlVersion, resolvedKeywords);
+        return resolvedKeywords;
+    }
+
+    private void merge(ResolvedKeywords resolvedKeywords, String path, boolean markAsReserved) {
+        log.info("Reading keywords for SQL {} from file '{}' as {}", sources.sqlVersion(), path,
+                markAsReserved ? "reserved" : "non-reserved");
+        try (Stream<SqlKeyword> keywordStream =
+                     new SqlKeywordsFromSource(sources.sqlVersion(), path, markAsReserved).getKeywordStream()) {
+            keywordStream.forEach(keyword -> resolvedKeywords.merge(keyword.word(), keyword.reserved()));
+        }
+    }
+
+}
@@ -0,0 +1,41 @@
+package nl.lawinegevaar.firebird.reservedwords.sql;
+
+import lombok.Builder;
+import lombok.Singular;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Input files for the keywords of a single SQL standard version.
+ *
+ * @param sqlVersion
+ *         SQL standard version
+ * @param nonReservedFile
+ *         file with non-reserved keywords, or {@code null}
+ * @param reservedFiles
+ *         files with reserved keywords
+ * @param deleteKeywordsFiles
+ *         files with keywords to remove
+ */
+@Builder
+public record SqlKeywordSources(
+        int sqlVersion,
+        String nonReservedFile,
+        @Singular List<String> reservedFiles,
+        @Singular List<String> deleteKeywordsFiles) {
+
+    /**
+     * @return all input files, in the order they are applied
+     */
+    public List<String> inputFiles() {
+        var inputFiles = new ArrayList<String>();
+        if (nonReservedFile != null) {
+            inputFiles.add(nonReservedFile);
+        }
+        inputFiles.addAll(reservedFiles);
+        inputFiles.addAll(deleteKeywordsFiles);
+        return inputFiles;
+    }
+
+}
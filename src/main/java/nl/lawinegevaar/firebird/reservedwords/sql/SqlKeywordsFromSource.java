@@ -1,14 +1,13 @@
 package nl.lawinegevaar.firebird.reservedwords.sql;
 
 import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.KeywordFileReader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordLoader;
 import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordCatalog;
 
 import javax.sql.DataSource;
-import java.io.IOException;
-import java.nio.charset.StandardCharsets;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.util.stream.Stream;
 
 @Slf4j
@@ -25,22 +24,19 @@ public class SqlKeywordsFromSource implements KeywordLoader {
     }
 
     @Override
-    public void loadKeywords(DataSource dataSource) throws KeywordProcessingException {
+    public void loadKeywords(DataSource dataSource, BatchSettings batchSettings) throws KeywordProcessingException {
         log.info("Merging keywords for SQL {} from file '{}' as {}", sqlVersion, keywordsFilePath,
                 markAsReserved ? "reserved" : "non-reserved");
-        new MergeSqlKeywords(this::getKeywordStream).loadKeywords(dataSource);
+        new MergeSqlKeywords(this::getKeywordStream).loadKeywords(dataSource, batchSettings);
     }
 
-    @SuppressWarnings("resource")
-    private Stream<SqlKeyword> getKeywordStream() throws KeywordProcessingException {
-        try {
-            return Files.lines(Path.of(keywordsFilePath), StandardCharsets.ISO_8859_1)
-                    .map(String::trim)
-                    .filter(line -> !line.isEmpty())
-                    .map(this::toSqlKeyword);
-        } catch (IOException e) {
-            throw new KeywordProcessingException("Keywords file not found or other IO error", e);
-        }
+    @Override
+    public void populate(KeywordCatalog.Builder catalogBuilder) throws KeywordProcessingException {
+        new MergeSqlKeywords(this::getKeywordStream).populate(catalogBuilder);
+    }
+
+    Stream<SqlKeyword> getKeywordStream() throws KeywordProcessingException {
+        return KeywordFileReader.readKeywords(keywordsFilePath).map(this::toSqlKeyword);
     }
 
     private SqlKeyword toSqlKeyword(String keywordString) {
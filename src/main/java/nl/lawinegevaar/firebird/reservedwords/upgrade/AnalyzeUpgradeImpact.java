@@ -0,0 +1,119 @@
+package nl.lawinegevaar.firebird.reservedwords.upgrade;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.CommandLines;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordLookup;
+import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInfo;
+import org.apache.commons.cli.*;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Reports the user-defined objects of a database with names that will become reserved words after an upgrade to a
+ * target Firebird version (see {@link UpgradeImpactAnalyzer}).
+ */
+@Slf4j
+public class AnalyzeUpgradeImpact {
+
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        if (!commandLine.hasOption("d") || !commandLine.hasOption("t")) {
+            System.err.println("Invalid command line: options -d or --database-config and -t or --to are required");
+            printUsage();
+            System.exit(-1);
+        }
+        final BigDecimal targetVersion = new BigDecimal(commandLine.getOptionValue("t"));
+        final int threads = CommandLines.positiveIntValue(commandLine, "threads",
+                Runtime.getRuntime().availableProcessors(), AnalyzeUpgradeImpact::printUsage);
+
+        DataSource dataSource = DatabaseInfo.createDatabaseInfo(Path.of(commandLine.getOptionValue("d")))
+                .getDataSource();
+        final BigDecimal currentVersion = commandLine.hasOption("from")
+                ? new BigDecimal(commandLine.getOptionValue("from"))
+                : UpgradeImpactAnalyzer.detectVersion(dataSource);
+
+        Function<BigDecimal, Optional<KeywordLookup>> firebirdKeywords = CommandLines.firebirdKeywords(commandLine);
+        KeywordLookup currentKeywords = firebirdKeywords.apply(currentVersion)
+                .orElseThrow(() -> new KeywordProcessingException("No keywords for Firebird " + currentVersion));
+        KeywordLookup targetKeywords = firebirdKeywords.apply(targetVersion)
+                .orElseThrow(() -> new KeywordProcessingException("No keywords for Firebird " + targetVersion));
+
+        long start = System.nanoTime();
+        List<UpgradeImpact> impacts = new UpgradeImpactAnalyzer(dataSource, currentKeywords, targetKeywords)
+                .analyze(threads);
+        log.info("Analyzed system tables in {} ms", (System.nanoTime() - start) / 1_000_000);
+        impacts.forEach(System.out::println);
+        System.out.printf("%d objects of Firebird %s use words reserved in Firebird %s%n", impacts.size(),
+                currentVersion, targetVersion);
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("AnalyzeUpgradeImpact", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption(Option.builder("d")
+                        .longOpt("database-config")
+                        .hasArg().argName("FILENAME")
+                        .desc("Properties file of the database to analyze, with the keys of database.properties; "
+                                + "required")
+                        .build())
+                .addOption(Option.builder("t")
+                        .longOpt("to")
+                        .hasArg().argName("VERSION")
+                        .desc("Target Firebird version (x.y, eg 5.0); required")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("from")
+                        .hasArg().argName("VERSION")
+                        .desc("Current Firebird version (default: detected from the server of the database)")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("snapshot")
+                        .hasArg().argName("FILENAME")
+                        .desc("Reads the keywords from a snapshot file (see ExportKeywordSnapshot) instead of the "
+                                + "keywords database")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Reads the keywords from the local files written by PopulateAllKeywords --store-dir "
+                                + "instead of the keywords database")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("threads")
+                        .hasArg().argName("COUNT")
+                        .desc("Maximum number of system tables read concurrently (default: number of processors)")
+                        .build());
+    }
+
+}
@@ -0,0 +1,73 @@
+package nl.lawinegevaar.firebird.reservedwords.upgrade;
+
+/**
+ * Queries of the user-defined object names in the system tables.
+ * <p>
+ * Each query selects the object type, the name of the parent object (or {@code null}) and the object name. Only
+ * columns available since Firebird 2.5 are used.
+ * </p>
+ */
+enum MetadataQuery {
+
+    RELATIONS("""
+            select case when RDB$VIEW_BLR is null then 'TABLE' else 'VIEW' end, cast(null as varchar(63)),
+              trim(RDB$RELATION_NAME)
+            from RDB$RELATIONS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    RELATION_FIELDS("""
+            select 'COLUMN', trim(RDB$RELATION_NAME), trim(RDB$FIELD_NAME)
+            from RDB$RELATION_FIELDS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    PROCEDURES("""
+            select 'PROCEDURE', cast(null as varchar(63)), trim(RDB$PROCEDURE_NAME)
+            from RDB$PROCEDURES
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    PROCEDURE_PARAMETERS("""
+            select 'PARAMETER', trim(RDB$PROCEDURE_NAME), trim(RDB$PARAMETER_NAME)
+            from RDB$PROCEDURE_PARAMETERS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    FUNCTIONS("""
+            select 'FUNCTION', cast(null as varchar(63)), trim(RDB$FUNCTION_NAME)
+            from RDB$FUNCTIONS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    INDICES("""
+            select 'INDEX', trim(RDB$RELATION_NAME), trim(RDB$INDEX_NAME)
+            from RDB$INDICES
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    RELATION_CONSTRAINTS("""
+            select 'CONSTRAINT', trim(rc.RDB$RELATION_NAME), trim(rc.RDB$CONSTRAINT_NAME)
+            from RDB$RELATION_CONSTRAINTS rc
+            inner join RDB$RELATIONS r on r.RDB$RELATION_NAME = rc.RDB$RELATION_NAME
+            where coalesce(r.RDB$SYSTEM_FLAG, 0) = 0"""),
+    TRIGGERS("""
+            select 'TRIGGER', trim(RDB$RELATION_NAME), trim(RDB$TRIGGER_NAME)
+            from RDB$TRIGGERS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    GENERATORS("""
+            select 'SEQUENCE', cast(null as varchar(63)), trim(RDB$GENERATOR_NAME)
+            from RDB$GENERATORS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    EXCEPTIONS("""
+            select 'EXCEPTION', cast(null as varchar(63)), trim(RDB$EXCEPTION_NAME)
+            from RDB$EXCEPTIONS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0"""),
+    DOMAINS("""
+            select 'DOMAIN', cast(null as varchar(63)), trim(RDB$FIELD_NAME)
+            from RDB$FIELDS
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0 and RDB$FIELD_NAME not starting with 'RDB$'"""),
+    ROLES("""
+            select 'ROLE', cast(null as varchar(63)), trim(RDB$ROLE_NAME)
+            from RDB$ROLES
+            where coalesce(RDB$SYSTEM_FLAG, 0) = 0""");
+
+    private final String sql;
+
+    MetadataQuery(String sql) {
+        this.sql = sql;
+    }
+
+    String sql() {
+        return sql;
+    }
+
+}
@@ -0,0 +1,27 @@
+package nl.lawinegevaar.firebird.reservedwords.upgrade;
+
+import java.util.Comparator;
+
+/**
+ * Database object with a name that can be used unquoted in the current Firebird version, but is a reserved word in
+ * the target version.
+ *
+ * @param objectType
+ *         type of object (eg {@code TABLE}, {@code COLUMN}, {@code PROCEDURE})
+ * @param parentName
+ *         name of the parent object (eg the table of a column), or {@code null}
+ * @param name
+ *         name of the object
+ */
+public record UpgradeImpact(String objectType, String parentName, String name) {
+
+    static final Comparator<UpgradeImpact> ORDER = Comparator.comparing(UpgradeImpact::objectType)
+            .thenComparing(UpgradeImpact::parentName, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(UpgradeImpact::name);
+
+    @Override
+    public String toString() {
+        return objectType + " " + (parentName != null ? parentName + "." + name : name);
+    }
+
+}
@@ -0,0 +1,142 @@
+package nl.lawinegevaar.firebird.reservedwords.upgrade;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.catalog.IdentifierQuoter;
+import nl.lawinegevaar.firebird.reservedwords.catalog.KeywordLookup;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Finds the user-defined objects of a database with names that will become reserved words after an upgrade.
+ * <p>
+ * An object is reported if its name can be used unquoted in the current version (a regular, upper case identifier
+ * that is not reserved), and is a reserved word in the target version. Each system table is read on its own
+ * connection, concurrently, and the rows are streamed without holding the metadata in memory.
+ * </p>
+ */
+@Slf4j
+public final class UpgradeImpactAnalyzer {
+
+    private static final int FETCH_SIZE = 1000;
+    private static final Pattern ENGINE_VERSION = Pattern.compile("^(\\d+\\.\\d+)");
+
+    private final DataSource dataSource;
+    private final IdentifierQuoter currentQuoter;
+    private final KeywordLookup targetKeywords;
+
+    /**
+     * @param dataSource
+     *         data source of the database to analyze
+     * @param currentKeywords
+     *         keywords of the current Firebird version of the database
+     * @param targetKeywords
+     *         keywords of the target Firebird version
+     */
+    public UpgradeImpactAnalyzer(DataSource dataSource, KeywordLookup currentKeywords, KeywordLookup targetKeywords) {
+        this.dataSource = dataSource;
+        currentQuoter = new IdentifierQuoter(currentKeywords, true);
+        this.targetKeywords = targetKeywords;
+    }
+
+    /**
+     * Analyzes the system tables.
+     *
+     * @param threads
+     *         maximum number of system tables read concurrently
+     * @return impacted objects, ordered by type, parent and name
+     * @throws KeywordProcessingException
+     *         for data-access errors, or if interrupted
+     */
+    public List<UpgradeImpact> analyze(int threads) throws KeywordProcessingException {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<List<UpgradeImpact>>>();
+            for (MetadataQuery query : MetadataQuery.values()) {
+                futures.add(executor.submit(() -> analyze(query)));
+            }
+            var impacts = new ArrayList<UpgradeImpact>();
+            for (Future<List<UpgradeImpact>> future : futures) {
+                impacts.addAll(future.get());
+            }
+            impacts.sort(UpgradeImpact.ORDER);
+            return impacts;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof KeywordProcessingException kpe) {
+                throw kpe;
+            }
+            throw new KeywordProcessingException("Analyzing system tables failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeywordProcessingException("Interrupted while analyzing system tables", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private List<UpgradeImpact> analyze(MetadataQuery query) throws KeywordProcessingException {
+        long start = System.nanoTime();
+        int rowCount = 0;
+        var impacts = new ArrayList<UpgradeImpact>();
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setReadOnly(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.setFetchSize(FETCH_SIZE);
+                try (ResultSet rs = statement.executeQuery(query.sql())) {
+                    while (rs.next()) {
+                        rowCount++;
+                        String name = rs.getString(3);
+                        if (!name.isEmpty() && !currentQuoter.requiresQuoting(name)
+                                && targetKeywords.isReserved(name)) {
+                            impacts.add(new UpgradeImpact(rs.getString(1), rs.getString(2), name));
+                        }
+                    }
+                }
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception reading " + query, e);
+        }
+        log.info("Read {} rows of {} in {} ms, {} impacted", rowCount, query,
+                (System.nanoTime() - start) / 1_000_000, impacts.size());
+        return impacts;
+    }
+
+    /**
+     * Detects the Firebird version (major.minor) of the server of a database.
+     *
+     * @param dataSource
+     *         data source of the database
+     * @return version (eg {@code 3.0})
+     * @throws KeywordProcessingException
+     *         for data-access errors, or if the version could not be determined
+     */
+    public static BigDecimal detectVersion(DataSource dataSource) throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(
+                     "select rdb$get_context('SYSTEM', 'ENGINE_VERSION') from RDB$DATABASE")) {
+            String engineVersion = rs.next() ? rs.getString(1) : null;
+            Matcher matcher = ENGINE_VERSION.matcher(engineVersion != null ? engineVersion : "");
+            if (!matcher.find()) {
+                throw new KeywordProcessingException("Unable to determine Firebird version from " + engineVersion);
+            }
+            return new BigDecimal(matcher.group(1));
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception", e);
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+package nl.lawinegevaar.firebird.reservedwords.verify;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Verifies the reserved status of keywords against a Firebird server.
+ * <p>
+ * A keyword is reserved if the server rejects it as a column alias in {@code select 1 as <WORD> from rdb$database}.
+ * Statements are only prepared, not executed. Keywords are checked concurrently, each on a connection from the pool of
+ * the data source, so the concurrency is limited by both the number of threads and the size of the pool.
+ * </p>
+ */
+@Slf4j
+public final class KeywordVerifier {
+
+    private final DataSource dataSource;
+    private final int threads;
+
+    /**
+     * @param dataSource
+     *         data source of a database on the server of the version to verify
+     * @param threads
+     *         maximum number of keywords checked concurrently
+     * @throws IllegalArgumentException
+     *         if {@code threads} is less than 1
+     */
+    public KeywordVerifier(DataSource dataSource, int threads) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be at least 1, was " + threads);
+        }
+        this.dataSource = dataSource;
+        this.threads = threads;
+    }
+
+    /**
+     * Verifies keywords.
+     *
+     * @param firebirdVersion
+     *         Firebird version of the keywords
+     * @param keywords
+     *         keywords with their reserved status ({@code null} if unknown)
+     * @return report
+     * @throws KeywordProcessingException
+     *         for data-access errors other than the rejection of a keyword, or if interrupted
+     */
+    public VerificationReport verify(BigDecimal firebirdVersion, Map<String, Boolean> keywords)
+            throws KeywordProcessingException {
+        var sortedKeywords = new TreeMap<>(keywords);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            var futures = new ArrayList<Future<Boolean>>(sortedKeywords.size());
+            for (String word : sortedKeywords.keySet()) {
+                futures.add(executor.submit(() -> isReserved(word)));
+            }
+            var reservedButAccepted = new ArrayList<String>();
+            var nonReservedButRejected = new ArrayList<String>();
+            var unknownStatus = new TreeMap<String, Boolean>();
+            int idx = 0;
+            for (Map.Entry<String, Boolean> entry : sortedKeywords.entrySet()) {
+                boolean actualReserved = futures.get(idx++).get();
+                Boolean expectedReserved = entry.getValue();
+                if (expectedReserved == null) {
+                    unknownStatus.put(entry.getKey(), actualReserved);
+                } else if (expectedReserved && !actualReserved) {
+                    reservedButAccepted.add(entry.getKey());
+                } else if (!expectedReserved && actualReserved) {
+                    nonReservedButRejected.add(entry.getKey());
+                }
+            }
+            return new VerificationReport(firebirdVersion, sortedKeywords.size(), reservedButAccepted,
+                    nonReservedButRejected, Collections.unmodifiableSortedMap(unknownStatus));
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof KeywordProcessingException kpe) {
+                throw kpe;
+            }
+            throw new KeywordProcessingException("Verifying keywords failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new KeywordProcessingException("Interrupted while verifying keywords", e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private boolean isReserved(String word) throws KeywordProcessingException {
+        try (Connection connection = dataSource.getConnection()) {
+            try {
+                // only preparing: the parser rejects a reserved word as column alias
+                PreparedStatement pstmt = connection.prepareStatement("select 1 as " + word + " from rdb$database");
+                pstmt.close();
+                return false;
+            } catch (SQLException e) {
+                if (isSyntaxError(e)) {
+                    log.debug("Word {} rejected: {}", word, e.getMessage());
+                    return true;
+                }
+                throw e;
+            }
+        } catch (SQLException e) {
+            throw new KeywordProcessingException("Data-access exception verifying " + word, e);
+        }
+    }
+
+    private static boolean isSyntaxError(SQLException e) {
+        // 42000: syntax error or access rule violation (eg Token unknown)
+        String sqlState = e.getSQLState();
+        return sqlState != null && sqlState.startsWith("42");
+    }
+
+}
@@ -0,0 +1,38 @@
+package nl.lawinegevaar.firebird.reservedwords.verify;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.SortedMap;
+
+/**
+ * Result of verifying the keywords of a Firebird version against a server.
+ *
+ * @param firebirdVersion
+ *         Firebird version
+ * @param checkedCount
+ *         number of checked keywords
+ * @param reservedButAccepted
+ *         keywords marked reserved that the server accepts as an alias (suggested non-reserved overrides)
+ * @param nonReservedButRejected
+ *         keywords marked non-reserved that the server rejects as an alias (suggested reserved overrides)
+ * @param unknownStatus
+ *         keywords without reserved status, with the status found on the server
+ */
+public record VerificationReport(BigDecimal firebirdVersion, int checkedCount, List<String> reservedButAccepted,
+        List<String> nonReservedButRejected, SortedMap<String, Boolean> unknownStatus) {
+
+    public VerificationReport {
+        reservedButAccepted = List.copyOf(reservedButAccepted);
+        nonReservedButRejected = List.copyOf(nonReservedButRejected);
+    }
+
+    public boolean hasMismatches() {
+        return !reservedButAccepted.isEmpty() || !nonReservedButRejected.isEmpty();
+    }
+
+    public String summary() {
+        return String.format("%d checked, %d reserved but accepted, %d non-reserved but rejected, %d unknown",
+                checkedCount, reservedButAccepted.size(), nonReservedButRejected.size(), unknownStatus.size());
+    }
+
+}
@@ -0,0 +1,159 @@
+package nl.lawinegevaar.firebird.reservedwords.verify;
+
+import lombok.extern.slf4j.Slf4j;
+import nl.lawinegevaar.firebird.reservedwords.BatchSettings;
+import nl.lawinegevaar.firebird.reservedwords.CommandLines;
+import nl.lawinegevaar.firebird.reservedwords.FileKeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import nl.lawinegevaar.firebird.reservedwords.KeywordStore;
+import nl.lawinegevaar.firebird.reservedwords.database.DatabaseInfo;
+import nl.lawinegevaar.firebird.reservedwords.fb.JdbcFirebirdKeywordStore;
+import org.apache.commons.cli.*;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Verifies the reserved status of the keywords of a Firebird version against a server of that version (see
+ * {@link KeywordVerifier}), and optionally writes the mismatches as suggested override files.
+ */
+@Slf4j
+public class VerifyKeywords {
+
+    private static final int DEFAULT_CONNECTIONS = 10;
+    private static final String RESERVED_OVERRIDE_FILE = "reserved-override.txt";
+    private static final String NON_RESERVED_OVERRIDE_FILE = "non-reserved-override.txt";
+    private static final Options OPTIONS = buildCommandLineOptions();
+
+    public static void main(String[] args) {
+        CommandLine commandLine = getCommandLine(args);
+        if (!commandLine.hasOption("d") || !commandLine.hasOption("v")) {
+            System.err.println("Invalid command line: options -d or --database-config and -v or --version are "
+                    + "required");
+            printUsage();
+            System.exit(-1);
+        }
+        final BigDecimal firebirdVersion = new BigDecimal(commandLine.getOptionValue("v"));
+        final int connections = CommandLines.positiveIntValue(commandLine, "connections", DEFAULT_CONNECTIONS,
+                VerifyKeywords::printUsage);
+
+        KeywordStore<BigDecimal> store;
+        if (commandLine.hasOption("store-dir")) {
+            store = FileKeywordStore.firebird(
+                    Path.of(commandLine.getOptionValue("store-dir")).resolve(FileKeywordStore.FIREBIRD_FILE_NAME));
+        } else {
+            store = new JdbcFirebirdKeywordStore(DatabaseInfo.createDatabaseInfo().getDataSource(),
+                    BatchSettings.DEFAULT);
+        }
+        Map<String, Boolean> keywords = store.readKeywords(firebirdVersion);
+        if (keywords.isEmpty()) {
+            throw new KeywordProcessingException("No keywords for Firebird " + firebirdVersion);
+        }
+
+        DatabaseInfo serverDatabase = DatabaseInfo.createDatabaseInfo(Path.of(commandLine.getOptionValue("d")))
+                .toBuilder()
+                .maximumPoolSize(connections)
+                .build();
+        long start = System.nanoTime();
+        VerificationReport report = new KeywordVerifier(serverDatabase.getDataSource(), connections)
+                .verify(firebirdVersion, keywords);
+        log.info("Verified {} keywords with {} connections in {} ms", report.checkedCount(), connections,
+                (System.nanoTime() - start) / 1_000_000);
+
+        report.reservedButAccepted().forEach(word -> System.out.printf("Reserved word %s did not yield error%n", word));
+        report.nonReservedButRejected()
+                .forEach(word -> System.out.printf("Non-reserved word %s yielded an error%n", word));
+        report.unknownStatus().forEach((word, reserved) -> System.out.printf("Word %s with unknown status is %s%n",
+                word, reserved ? "reserved" : "non-reserved"));
+        System.out.printf("Firebird %s: %s%n", firebirdVersion, report.summary());
+
+        if (commandLine.hasOption("o")) {
+            writeSuggestedOverrides(report, Path.of(commandLine.getOptionValue("o")));
+        }
+        if (report.hasMismatches()) {
+            System.exit(1);
+        }
+    }
+
+    private static void writeSuggestedOverrides(VerificationReport report, Path outputDirectory) {
+        var reserved = new TreeSet<>(report.nonReservedButRejected());
+        var nonReserved = new TreeSet<>(report.reservedButAccepted());
+        report.unknownStatus().forEach((word, isReserved) -> (isReserved ? reserved : nonReserved).add(word));
+        try {
+            Files.createDirectories(outputDirectory);
+            writeWords(outputDirectory.resolve(RESERVED_OVERRIDE_FILE), report, reserved);
+            writeWords(outputDirectory.resolve(NON_RESERVED_OVERRIDE_FILE), report, nonReserved);
+        } catch (IOException e) {
+            throw new KeywordProcessingException("Could not write suggested override files", e);
+        }
+        System.out.printf("Suggested overrides written to %s%n", outputDirectory);
+    }
+
+    private static void writeWords(Path file, VerificationReport report, Collection<String> words)
+            throws IOException {
+        var lines = new ArrayList<String>(words.size() + 1);
+        lines.add("# Suggested by VerifyKeywords for Firebird " + report.firebirdVersion());
+        lines.addAll(words);
+        Files.write(file, lines, StandardCharsets.ISO_8859_1);
+    }
+
+    private static CommandLine getCommandLine(String[] args) {
+        CommandLineParser clParser = new DefaultParser();
+        try {
+            CommandLine commandLine = clParser.parse(OPTIONS, args);
+
+            if (commandLine.hasOption("h")) {
+                printUsage();
+                System.exit(0);
+            }
+            return commandLine;
+        } catch (ParseException e) {
+            System.err.println("Invalid command line: " + e.getMessage());
+            printUsage();
+            System.exit(-1);
+        }
+        throw new AssertionError("should not get here");
+    }
+
+    private static void printUsage() {
+        HelpFormatter formatter = new HelpFormatter();
+        formatter.printHelp("VerifyKeywords", OPTIONS);
+    }
+
+    private static Options buildCommandLineOptions() {
+        return new Options()
+                .addOption("h", "help", false, "Prints usage instructions and exits")
+                .addOption("v", "version", true, "Firebird version (x.y, eg 2.5); required")
+                .addOption(Option.builder("d")
+                        .longOpt("database-config")
+                        .hasArg().argName("FILENAME")
+                        .desc("Properties file of a database on a server of the version, with the keys of "
+                                + "database.properties; required")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("connections")
+                        .hasArg().argName("COUNT")
+                        .desc("Number of concurrent connections to the server (default " + DEFAULT_CONNECTIONS + ")")
+                        .build())
+                .addOption(Option.builder()
+                        .longOpt("store-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Reads the keywords from the local files written by PopulateAllKeywords --store-dir "
+                                + "instead of the keywords database")
+                        .build())
+                .addOption(Option.builder("o")
+                        .longOpt("output-dir")
+                        .hasArg().argName("DIRECTORY")
+                        .desc("Writes the mismatches as suggested " + RESERVED_OVERRIDE_FILE + " and "
+                                + NON_RESERVED_OVERRIDE_FILE + " to this directory")
+                        .build());
+    }
+
+}
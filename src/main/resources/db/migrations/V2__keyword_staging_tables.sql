@@ -0,0 +1,17 @@
+create global temporary table FB_KEYWORD_STAGE (
+    WORD varchar(50) not null,
+    RESERVED boolean,
+    DELETED boolean default false not null,
+    constraint PK_FB_KEYWORD_STAGE primary key (WORD)
+) on commit delete rows;
+comment on table FB_KEYWORD_STAGE is 'Keywords of a single Firebird version staged for a set-based write';
+comment on column FB_KEYWORD_STAGE.DELETED is 'true: keyword to delete, false: keyword to merge';
+
+create global temporary table SQL_KEYWORD_STAGE (
+    WORD varchar(50) not null,
+    RESERVED boolean,
+    DELETED boolean default false not null,
+    constraint PK_SQL_KEYWORD_STAGE primary key (WORD)
+) on commit delete rows;
+comment on table SQL_KEYWORD_STAGE is 'Keywords of a single SQL standard version staged for a set-based write';
+comment on column SQL_KEYWORD_STAGE.DELETED is 'true: keyword to delete, false: keyword to merge';
@@ -0,0 +1,18 @@
+create table KEYWORD_HISTORY_VERSION (
+    VERSION_TYPE varchar(3) not null,
+    VERSION NUMERIC(5,1) not null,
+    VERSION_BIT bigint not null,
+    constraint PK_KEYWORD_HISTORY_VERSION primary key (VERSION_TYPE, VERSION),
+    constraint CHK_KEYWORD_HISTORY_VERSION_TYPE check (VERSION_TYPE in ('FB', 'SQL'))
+);
+comment on table KEYWORD_HISTORY_VERSION is 'Bit of each Firebird (FB) and SQL standard (SQL) version in KEYWORD_HISTORY';
+
+create table KEYWORD_HISTORY (
+    WORD varchar(50) not null,
+    FB_KEYWORD_VERSIONS bigint not null,
+    FB_RESERVED_VERSIONS bigint not null,
+    SQL_KEYWORD_VERSIONS bigint not null,
+    SQL_RESERVED_VERSIONS bigint not null,
+    constraint PK_KEYWORD_HISTORY primary key (WORD)
+);
+comment on table KEYWORD_HISTORY is 'Bitmaps of the versions in which a word is a keyword or reserved, see KEYWORD_HISTORY_VERSION';
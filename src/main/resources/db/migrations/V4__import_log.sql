@@ -0,0 +1,11 @@
+create table IMPORT_LOG (
+    VERSION_TYPE varchar(3) not null,
+    VERSION NUMERIC(5,1) not null,
+    FILE_INDEX smallint not null,
+    INPUT_FILE varchar(1000) not null,
+    SHA256 char(64) not null,
+    IMPORTED_AT timestamp default localtimestamp not null,
+    constraint PK_IMPORT_LOG primary key (VERSION_TYPE, VERSION, FILE_INDEX),
+    constraint CHK_IMPORT_LOG_VERSION_TYPE check (VERSION_TYPE in ('FB', 'SQL'))
+);
+comment on table IMPORT_LOG is 'SHA-256 of each input file of the last import of a Firebird (FB) or SQL standard (SQL) version';
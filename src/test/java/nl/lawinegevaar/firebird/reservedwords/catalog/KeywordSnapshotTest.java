@@ -0,0 +1,133 @@
+package nl.lawinegevaar.firebird.reservedwords.catalog;
+
+import nl.lawinegevaar.firebird.reservedwords.KeywordProcessingException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeywordSnapshotTest {
+
+    private static final BigDecimal FB_40 = new BigDecimal("4.0");
+    private static final BigDecimal FB_50 = new BigDecimal("5.0");
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeThenOpenMatchesCatalog() {
+        KeywordCatalog catalog = KeywordCatalog.builder()
+                .addFirebirdKeyword(FB_40, "SELECT", true)
+                .addFirebirdKeyword(FB_40, "WINDOW", false)
+                .addFirebirdKeyword(FB_40, "ABS", false)
+                .addFirebirdKeyword(FB_50, "SELECT", true)
+                .addFirebirdKeyword(FB_50, "WINDOW", true)
+                .addFirebirdKeyword(FB_50, "SKIP", false)
+                .addSqlKeyword(2003, "SELECT", true)
+                .addSqlKeyword(2003, "ABS", false)
+                .addSqlKeyword(2016, "LISTAGG", true)
+                .build();
+        Path snapshotFile = tempDir.resolve("keywords.snapshot");
+
+        KeywordSnapshot.write(catalog, snapshotFile);
+        KeywordSnapshot snapshot = KeywordSnapshot.open(snapshotFile);
+
+        assertEquals(catalog.firebirdVersions(), snapshot.firebirdVersions());
+        assertEquals(catalog.sqlVersions(), snapshot.sqlVersions());
+        assertEquals(catalog.wordCount(), snapshot.wordCount());
+        WordTable wordTable = catalog.wordTable();
+        for (BigDecimal firebirdVersion : catalog.firebirdVersions()) {
+            assertSameKeywords(catalog.firebird(firebirdVersion).orElseThrow(),
+                    snapshot.firebird(firebirdVersion).orElseThrow(), wordTable);
+        }
+        for (int sqlVersion : catalog.sqlVersions()) {
+            assertSameKeywords(catalog.sql(sqlVersion).orElseThrow(), snapshot.sql(sqlVersion).orElseThrow(),
+                    wordTable);
+        }
+        KeywordLookup fb50 = snapshot.firebird(FB_50).orElseThrow();
+        assertTrue(fb50.isReserved("window"), "lookup ignores case");
+        assertFalse(fb50.isKeyword("NOT_A_KEYWORD"));
+        assertFalse(snapshot.firebird(new BigDecimal("3.0")).isPresent());
+    }
+
+    private static void assertSameKeywords(KeywordLookup expected, KeywordLookup actual, WordTable wordTable) {
+        assertEquals(expected.size(), actual.size());
+        for (int index = 0; index < wordTable.size(); index++) {
+            String word = wordTable.word(index);
+            assertEquals(expected.isKeyword(word), actual.isKeyword(word), word);
+            assertEquals(expected.isReserved(word), actual.isReserved(word), word);
+        }
+    }
+
+    @Test
+    void writeThenOpenEmptyCatalog() {
+        Path snapshotFile = tempDir.resolve("empty.snapshot");
+
+        KeywordSnapshot.write(KeywordCatalog.builder().build(), snapshotFile);
+        KeywordSnapshot snapshot = KeywordSnapshot.open(snapshotFile);
+
+        assertEquals(0, snapshot.wordCount());
+        assertEquals(0, snapshot.firebirdVersions().size());
+    }
+
+    @Test
+    void rejectsNegativeWordCount() throws IOException {
+        assertCorrupt(contents -> contents.putInt(8, -1));
+    }
+
+    @Test
+    void rejectsCountsOverflowingInt() throws IOException {
+        assertCorrupt(contents -> contents.putInt(12, Integer.MAX_VALUE).putInt(16, Integer.MAX_VALUE));
+    }
+
+    @Test
+    void rejectsWordOffsetsOutsideStringData() throws IOException {
+        // header (24) + one Firebird version (8): end offset of the only word
+        assertCorrupt(contents -> contents.putInt(24 + 8 + 4, 100));
+    }
+
+    @Test
+    void rejectsWordOffsetsNotStartingAtZero() throws IOException {
+        // header (24) + one Firebird version (8): start offset of the only word
+        assertCorrupt(contents -> contents.putInt(24 + 8, 4));
+    }
+
+    @Test
+    void rejectsTruncatedFile() throws IOException {
+        Path snapshotFile = writeSingleWordSnapshot();
+        byte[] contents = Files.readAllBytes(snapshotFile);
+        Files.write(snapshotFile, Arrays.copyOf(contents, contents.length - 8));
+
+        assertThrows(KeywordProcessingException.class, () -> KeywordSnapshot.open(snapshotFile));
+    }
+
+    private void assertCorrupt(Consumer<ByteBuffer> corruption) throws IOException {
+        Path snapshotFile = writeSingleWordSnapshot();
+        byte[] contents = Files.readAllBytes(snapshotFile);
+        byte[] original = contents.clone();
+        corruption.accept(ByteBuffer.wrap(contents));
+        assertFalse(Arrays.equals(original, contents), "corruption changed the file");
+        Files.write(snapshotFile, contents);
+
+        assertThrows(KeywordProcessingException.class, () -> KeywordSnapshot.open(snapshotFile));
+    }
+
+    private Path writeSingleWordSnapshot() {
+        Path snapshotFile = tempDir.resolve("single.snapshot");
+        KeywordSnapshot.write(KeywordCatalog.builder().addFirebirdKeyword(FB_50, "SELECT", true).build(),
+                snapshotFile);
+        return snapshotFile;
+    }
+
+}
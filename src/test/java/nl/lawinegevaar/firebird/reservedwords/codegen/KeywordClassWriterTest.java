@@ -0,0 +1,66 @@
+package nl.lawinegevaar.firebird.reservedwords.codegen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.JavaCompiler;
+import javax.tools.ToolProvider;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KeywordClassWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void generatedClassCompilesWithSpecialCharacters() throws Exception {
+        Class<?> keywordClass = writeAndCompile(Map.of(
+                "SELECT", true,
+                "QUOTE\"WORD", true,
+                "BACK\\SLASH", false,
+                "TAB\tWORD", false,
+                "CAF\u00C9", true));
+
+        assertEquals(5, invoke(keywordClass, "size"));
+        assertEquals(true, invoke(keywordClass, "isReserved", "select"));
+        assertEquals(true, invoke(keywordClass, "isReserved", "QUOTE\"WORD"));
+        assertEquals(true, invoke(keywordClass, "isKeyword", "BACK\\SLASH"));
+        assertEquals(false, invoke(keywordClass, "isReserved", "BACK\\SLASH"));
+        assertEquals(true, invoke(keywordClass, "isKeyword", "TAB\tWORD"));
+        assertEquals(true, invoke(keywordClass, "isReserved", "CAF\u00C9"));
+        assertEquals(false, invoke(keywordClass, "isKeyword", "FROM"));
+    }
+
+    @Test
+    void generatedClassWithoutKeywords() throws Exception {
+        Class<?> keywordClass = writeAndCompile(Map.of());
+
+        assertEquals(0, invoke(keywordClass, "size"));
+        assertEquals(false, invoke(keywordClass, "isKeyword", "SELECT"));
+        assertEquals(false, invoke(keywordClass, "isReserved", "SELECT"));
+    }
+
+    private Class<?> writeAndCompile(Map<String, Boolean> keywords) throws Exception {
+        Path file = new KeywordClassWriter("test.keywords", "TestKeywords", "Test")
+                .write(tempDir, keywords, null);
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        int result = compiler.run(null, null, null, "-d", tempDir.toString(), file.toString());
+        assertEquals(0, result, "generated source compiles");
+        var classLoader = new URLClassLoader(new URL[] { tempDir.toUri().toURL() }, null);
+        return Class.forName("test.keywords.TestKeywords", true, classLoader);
+    }
+
+    private static Object invoke(Class<?> keywordClass, String methodName, Object... args) throws Exception {
+        Method method = args.length == 0
+                ? keywordClass.getMethod(methodName)
+                : keywordClass.getMethod(methodName, CharSequence.class);
+        return method.invoke(null, args);
+    }
+
+}